@@ -0,0 +1,47 @@
+package com.moengage.movieflix.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Background Executor Configuration
+ * Bounded thread pools for work that should not hold request threads
+ */
+@Configuration
+public class AsyncConfig {
+
+    /**
+     * Executor for background OMDb refreshes of search queries
+     * The queue is bounded; refreshes beyond capacity are rejected and skipped
+     */
+    @Bean
+    public ThreadPoolTaskExecutor searchRefreshExecutor(
+            @Value("${app.search.refresh.pool-size:2}") int poolSize,
+            @Value("${app.search.refresh.queue-capacity:50}") int queueCapacity
+    ) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("search-refresh-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Single thread for the startup warm-up, so it runs after the app is ready
+     */
+    @Bean
+    public ThreadPoolTaskExecutor warmupExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setThreadNamePrefix("warmup-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+}
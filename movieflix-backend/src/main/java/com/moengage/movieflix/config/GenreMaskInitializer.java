@@ -0,0 +1,59 @@
+package com.moengage.movieflix.config;
+
+import com.moengage.movieflix.entity.MovieGenres;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fills genre_mask for movies stored before the column existed, or reset to
+ * NULL after the genre dictionary grew. Until then genre filters skip them.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class GenreMaskInitializer implements CommandLineRunner {
+
+    private static final int BACKFILL_BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(String... args) {
+        int updated = 0;
+        List<Long> ids;
+        do {
+            ids = jdbcTemplate.queryForList(
+                    "SELECT id FROM movies WHERE genre_mask IS NULL FETCH FIRST " + BACKFILL_BATCH_SIZE + " ROWS ONLY",
+                    Long.class);
+            if (!ids.isEmpty()) {
+                Map<Long, List<String>> genresById = new HashMap<>();
+                String placeholders = String.join(",", Collections.nCopies(ids.size(), "?"));
+                jdbcTemplate.query("SELECT movie_id, genre FROM movie_genres WHERE movie_id IN (" + placeholders + ")",
+                        rs -> {
+                            genresById.computeIfAbsent(rs.getLong("movie_id"), id -> new ArrayList<>())
+                                    .add(rs.getString("genre"));
+                        },
+                        ids.toArray());
+
+                List<Object[]> masks = ids.stream()
+                        .map(id -> new Object[]{MovieGenres.maskOf(genresById.get(id)), id})
+                        .toList();
+                jdbcTemplate.batchUpdate("UPDATE movies SET genre_mask = ? WHERE id = ?", masks);
+                updated += masks.size();
+            }
+        } while (ids.size() == BACKFILL_BATCH_SIZE);
+
+        if (updated > 0) {
+            log.info("Filled genre_mask for {} movies", updated);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.moengage.movieflix.config;
+
+import com.moengage.movieflix.entity.Movie;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves the movie id sequence past ids assigned by the old IDENTITY column,
+ * so databases created before the switch to a sequence keep working.
+ * The sequence is only read, never advanced, and altered only while it is
+ * still behind the highest id.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IdSequenceInitializer implements CommandLineRunner {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(String... args) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM movies", Long.class);
+        if (maxId == null) {
+            return;
+        }
+        long next = nextSequenceValue();
+        // The pooled optimizer hands out the block that ends at the sequence value
+        if (next - Movie.ID_ALLOCATION_SIZE >= maxId) {
+            return;
+        }
+        long restartWith = maxId + Movie.ID_ALLOCATION_SIZE + 1;
+        jdbcTemplate.execute("ALTER SEQUENCE " + Movie.ID_SEQUENCE + " RESTART WITH " + restartWith);
+        log.info("Moved {} to {} past existing movie ids", Movie.ID_SEQUENCE, restartWith);
+    }
+
+    // The value the next nextval would return
+    private long nextSequenceValue() {
+        if (isPostgres()) {
+            return jdbcTemplate.queryForObject(
+                    "SELECT CASE WHEN is_called THEN last_value + " + Movie.ID_ALLOCATION_SIZE
+                            + " ELSE last_value END FROM " + Movie.ID_SEQUENCE, Long.class);
+        }
+        return jdbcTemplate.queryForObject(
+                "SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES WHERE UPPER(SEQUENCE_NAME) = ?",
+                Long.class, Movie.ID_SEQUENCE.toUpperCase());
+    }
+
+    private boolean isPostgres() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        return "PostgreSQL".equalsIgnoreCase(product);
+    }
+}
@@ -3,124 +3,158 @@ package com.moengage.movieflix.config;
 import com.moengage.movieflix.dto.omdb.OmdbMovieDetail;
 import com.moengage.movieflix.entity.Movie;
 import com.moengage.movieflix.repository.MovieRepository;
+import com.moengage.movieflix.service.CatalogSnapshotService;
+import com.moengage.movieflix.service.MovieIngestionWriter;
 import com.moengage.movieflix.service.OmdbApiService;
+import com.moengage.movieflix.service.OmdbQuotaGovernor.Priority;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.boot.CommandLineRunner;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Component;
 
+import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * Initializes the database with popular movies on application startup
- * This provides users with content to browse immediately
+ * Initializes the database with popular movies after application startup
+ * Loads the bundled catalog snapshot first, then fetches any seed movies
+ * still missing (app.warmup.movie-ids) from OMDb in the background
  */
 @Component
 @RequiredArgsConstructor
 @Slf4j
-public class MovieDataInitializer implements CommandLineRunner {
+public class MovieDataInitializer {
 
     private final MovieRepository movieRepository;
     private final OmdbApiService omdbApiService;
+    private final ThreadPoolTaskExecutor warmupExecutor;
+    private final Environment environment;
+    private final CatalogSnapshotService catalogSnapshotService;
+    private final MovieIngestionWriter movieIngestionWriter;
+    private final ResourceLoader resourceLoader;
+
+    public enum WarmupState {
+        PENDING, RUNNING, COMPLETED, SKIPPED
+    }
+
+    private final AtomicInteger fromSnapshot = new AtomicInteger();
+    private final AtomicInteger requested = new AtomicInteger();
+    private final AtomicInteger loaded = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private volatile WarmupState state = WarmupState.PENDING;
+
+    @Value("${app.warmup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.warmup.batch-size:10}")
+    private int batchSize;
+
+    @Value("${app.catalog.snapshot.location:}")
+    private String snapshotLocation;
+
+    /**
+     * Start the warm-up once the application is ready, so startup is not
+     * held up by OMDb round trips. An empty database is first filled from the
+     * catalog snapshot, which needs no network; only seed movies missing from
+     * it are fetched from OMDb in the background.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void startWarmup() {
+        if (!enabled) {
+            state = WarmupState.SKIPPED;
+            return;
+        }
 
-    // Popular movie IMDb IDs to pre-load
-    private static final List<String> POPULAR_MOVIE_IDS = Arrays.asList(
-            // Classics & Highly Rated
-            "tt0111161", // The Shawshank Redemption (1994) - 9.3
-            "tt0068646", // The Godfather (1972) - 9.2
-            "tt0468569", // The Dark Knight (2008) - 9.0
-            "tt0167260", // The Lord of the Rings: Return of the King (2003) - 9.0
-            "tt0110912", // Pulp Fiction (1994) - 8.9
-            
-            // Sci-Fi & Action
-            "tt0133093", // The Matrix (1999) - 8.7
-            "tt1375666", // Inception (2010) - 8.8
-            "tt0816692", // Interstellar (2014) - 8.7
-            "tt0109830", // Forrest Gump (1994) - 8.8
-            "tt0120737", // The Lord of the Rings: Fellowship of the Ring (2001) - 8.9
-            
-            // Modern Blockbusters
-            "tt0848228", // The Avengers (2012) - 8.0
-            "tt4154756", // Avengers: Infinity War (2018) - 8.4
-            "tt4154796", // Avengers: Endgame (2019) - 8.4
-            "tt0407887", // The Departed (2006) - 8.5
-            "tt1345836", // The Dark Knight Rises (2012) - 8.4
-            
-            // Popular Recent Movies
-            "tt6751668", // Parasite (2019) - 8.5
-            "tt8503618", // Hamilton (2020) - 8.3
-            "tt10872600", // Spider-Man: No Way Home (2021) - 8.2
-            "tt1160419", // Dune (2021) - 8.0
-            "tt9114286", // Black Panther: Wakanda Forever (2022) - 6.7
-            
-            // More Variety
-            "tt0137523", // Fight Club (1999) - 8.8
-            "tt0120815", // Saving Private Ryan (1998) - 8.6
-            "tt0167261", // The Lord of the Rings: The Two Towers (2002) - 8.8
-            "tt0172495", // Gladiator (2000) - 8.5
-            "tt0114369", // Se7en (1995) - 8.6
-            
-            // Additional Popular Titles
-            "tt0102926", // The Silence of the Lambs (1991) - 8.6
-            "tt0114814", // The Usual Suspects (1995) - 8.5
-            "tt0118799", // Life is Beautiful (1997) - 8.6
-            "tt0317248", // City of God (2002) - 8.6
-            "tt0245429"  // Spirited Away (2001) - 8.6
-    );
-
-    @Override
-    public void run(String... args) {
         // Check if database already has movies
         long existingCount = movieRepository.count();
-        
         if (existingCount > 0) {
             log.info("Database already contains {} movies. Skipping initialization.", existingCount);
+            state = WarmupState.SKIPPED;
             return;
         }
 
-        log.info("Initializing database with {} popular movies...", POPULAR_MOVIE_IDS.size());
-        
-        int successCount = 0;
-        int failCount = 0;
-        
-        for (String imdbId : POPULAR_MOVIE_IDS) {
+        loadSnapshot();
+        warmupExecutor.execute(this::warmup);
+    }
+
+    public Map<String, Object> getProgress() {
+        Map<String, Object> progress = new LinkedHashMap<>();
+        progress.put("state", state.name());
+        progress.put("fromSnapshot", fromSnapshot.get());
+        progress.put("requested", requested.get());
+        progress.put("loaded", loaded.get());
+        progress.put("failed", failed.get());
+        return progress;
+    }
+
+    private void loadSnapshot() {
+        if (snapshotLocation == null || snapshotLocation.isBlank()) {
+            return;
+        }
+        Resource snapshot = resourceLoader.getResource(snapshotLocation);
+        if (!snapshot.exists()) {
+            log.info("No catalog snapshot at {}, seeding from OMDb", snapshotLocation);
+            return;
+        }
+        try (InputStream in = snapshot.getInputStream()) {
+            fromSnapshot.set(catalogSnapshotService.importSnapshot(in).imported());
+        } catch (Exception e) {
+            log.error("Failed to load catalog snapshot {}: {}", snapshotLocation, e.getMessage());
+        }
+    }
+
+    private void warmup() {
+        List<String> seedIds = Binder.get(environment)
+                .bind("app.warmup.movie-ids", Bindable.listOf(String.class))
+                .orElse(List.of());
+        Set<String> cachedIds = seedIds.isEmpty() ? Set.of() : movieRepository.findExistingImdbIds(seedIds);
+        List<String> missingIds = seedIds.stream()
+                .distinct()
+                .filter(imdbId -> !cachedIds.contains(imdbId))
+                .toList();
+
+        state = WarmupState.RUNNING;
+        requested.set(missingIds.size());
+        log.info("Initializing database with {} popular movies...", missingIds.size());
+
+        // Fetch in batches; each batch is fetched concurrently within the OMDb fan-out limits
+        for (int from = 0; from < missingIds.size(); from += batchSize) {
+            List<String> batch = missingIds.subList(from, Math.min(from + batchSize, missingIds.size()));
             try {
-                // Check if movie already exists
-                if (movieRepository.existsByImdbId(imdbId)) {
-                    log.debug("Movie {} already exists, skipping", imdbId);
-                    continue;
-                }
-                
-                // Fetch movie details from OMDb API
-                Optional<OmdbMovieDetail> movieDetailOpt = omdbApiService.getMovieDetails(imdbId);
-                
-                if (movieDetailOpt.isPresent()) {
-                    OmdbMovieDetail detail = movieDetailOpt.get();
-                    Movie movie = convertToEntity(detail);
-                    movieRepository.save(movie);
-                    successCount++;
+                List<Movie> movies = omdbApiService.getMovieDetails(batch, Priority.PREFETCH).stream()
+                        .map(this::convertToEntity)
+                        .toList();
+                for (Movie movie : movieIngestionWriter.upsert(movies)) {
+                    loaded.incrementAndGet();
                     log.info("✓ Loaded: {} ({})", movie.getTitle(), movie.getYear());
-                } else {
-                    failCount++;
-                    log.warn("✗ Failed to fetch movie: {}", imdbId);
                 }
-                
-                // Small delay to avoid rate limiting (100ms between requests)
-                Thread.sleep(100);
-                
+                failed.addAndGet(batch.size() - movies.size());
             } catch (Exception e) {
-                failCount++;
-                log.error("Error loading movie {}: {}", imdbId, e.getMessage());
+                failed.addAndGet(batch.size());
+                log.error("Error loading movies {}: {}", batch, e.getMessage());
             }
         }
-        
+
+        state = WarmupState.COMPLETED;
         log.info("=".repeat(60));
         log.info("Movie initialization complete!");
-        log.info("Successfully loaded: {} movies", successCount);
-        log.info("Failed to load: {} movies", failCount);
+        log.info("Loaded from snapshot: {} movies", fromSnapshot.get());
+        log.info("Successfully loaded: {} movies", loaded.get());
+        log.info("Failed to load: {} movies", failed.get());
         log.info("Total in database: {} movies", movieRepository.count());
         log.info("=".repeat(60));
     }
@@ -0,0 +1,73 @@
+package com.moengage.movieflix.config;
+
+import com.moengage.movieflix.service.OmdbConnectionPoolMetrics;
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+/**
+ * OMDb HTTP Client Configuration
+ * Dedicated, instrumented connection pool so concurrent fan-out reuses warm connections
+ */
+@Configuration
+public class OmdbClientConfig {
+
+    private static final String ACQUIRE_START = "omdb.acquire.start";
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider omdbConnectionProvider(
+            OmdbConnectionPoolMetrics poolMetrics,
+            @Value("${app.omdb.http.max-connections:20}") int maxConnections,
+            @Value("${app.omdb.http.pending-acquire-max-count:100}") int pendingAcquireMaxCount,
+            @Value("${app.omdb.http.pending-acquire-timeout-ms:2000}") long pendingAcquireTimeoutMs,
+            @Value("${app.omdb.http.max-idle-time-seconds:30}") long maxIdleTimeSeconds,
+            @Value("${app.omdb.http.max-life-time-seconds:300}") long maxLifeTimeSeconds,
+            @Value("${app.omdb.http.evict-interval-seconds:30}") long evictIntervalSeconds
+    ) {
+        return ConnectionProvider.builder("omdb")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(Duration.ofMillis(pendingAcquireTimeoutMs))
+                .maxIdleTime(Duration.ofSeconds(maxIdleTimeSeconds))
+                .maxLifeTime(Duration.ofSeconds(maxLifeTimeSeconds))
+                .evictInBackground(Duration.ofSeconds(evictIntervalSeconds))
+                .metrics(true, () -> poolMetrics)
+                .build();
+    }
+
+    @Bean
+    public WebClient omdbWebClient(
+            WebClient.Builder webClientBuilder,
+            ConnectionProvider omdbConnectionProvider,
+            OmdbConnectionPoolMetrics poolMetrics,
+            @Value("${app.omdb.base-url}") String baseUrl,
+            @Value("${app.omdb.http.connect-timeout-ms:2000}") int connectTimeoutMs,
+            @Value("${app.omdb.http.compression:true}") boolean compression,
+            @Value("${app.omdb.http.max-response-bytes:1048576}") int maxResponseBytes,
+            @Value("${app.omdb.http.dns-cache-ttl-seconds:300}") long dnsCacheTtlSeconds
+    ) {
+        HttpClient httpClient = HttpClient.create(omdbConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+                .compress(compression)
+                .resolver(spec -> spec.cacheMaxTimeToLive(Duration.ofSeconds(dnsCacheTtlSeconds)))
+                // Time from subscription until the request is written on a ready connection
+                .doOnRequest((request, connection) -> request.currentContextView()
+                        .<Long>getOrEmpty(ACQUIRE_START)
+                        .ifPresent(start -> poolMetrics.recordAcquireLatency(System.nanoTime() - start)));
+
+        return webClientBuilder.clone()
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(maxResponseBytes))
+                .filter((request, next) -> next.exchange(request)
+                        .contextWrite(context -> context.put(ACQUIRE_START, System.nanoTime())))
+                .build();
+    }
+}
@@ -0,0 +1,80 @@
+package com.moengage.movieflix.config;
+
+import com.moengage.movieflix.entity.Movie;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Prepares the indexed substring title search
+ * Fills normalized_title for rows written before the column existed and, on
+ * PostgreSQL, adds a pg_trgm GIN index so '%term%' lookups use an index.
+ * Other databases (embedded H2) fall back to scanning normalized_title.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TitleSearchIndexInitializer implements CommandLineRunner {
+
+    private static final int BACKFILL_BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.search.trigram-index:true}")
+    private boolean trigramIndex;
+
+    @Override
+    public void run(String... args) {
+        backfillNormalizedTitles();
+
+        if (trigramIndex && isPostgres()) {
+            createTrigramIndex();
+        }
+    }
+
+    private void backfillNormalizedTitles() {
+        int updated = 0;
+        List<Map<String, Object>> rows;
+        do {
+            rows = jdbcTemplate.queryForList(
+                    "SELECT id, title FROM movies WHERE normalized_title IS NULL FETCH FIRST " + BACKFILL_BATCH_SIZE + " ROWS ONLY");
+            List<Object[]> args = rows.stream()
+                    .map(row -> new Object[]{Movie.normalizeTitle((String) row.get("title")), row.get("id")})
+                    .toList();
+            if (!args.isEmpty()) {
+                jdbcTemplate.batchUpdate("UPDATE movies SET normalized_title = ? WHERE id = ?", args);
+                updated += args.size();
+            }
+        } while (rows.size() == BACKFILL_BATCH_SIZE);
+
+        if (updated > 0) {
+            log.info("Filled normalized_title for {} movies", updated);
+        }
+    }
+
+    private void createTrigramIndex() {
+        try {
+            jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_normalized_title_trgm "
+                    + "ON movies USING gin (normalized_title gin_trgm_ops)");
+            log.info("Trigram index on movies.normalized_title is ready");
+        } catch (DataAccessException e) {
+            // Usually missing privileges for CREATE EXTENSION; title search still works, just unindexed
+            log.warn("Could not create trigram title index: {}", e.getMostSpecificCause().getMessage());
+        }
+    }
+
+    private boolean isPostgres() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        return "PostgreSQL".equalsIgnoreCase(product);
+    }
+}
@@ -1,5 +1,6 @@
 package com.moengage.movieflix.config;
 
+import com.moengage.movieflix.interceptor.QueryCountInterceptor;
 import com.moengage.movieflix.interceptor.RateLimitInterceptor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
@@ -8,13 +9,14 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 /**
  * Web MVC Configuration
- * Registers interceptors for rate limiting
+ * Registers interceptors for rate limiting and SQL statement counting
  */
 @Configuration
 @RequiredArgsConstructor
 public class WebMvcConfig implements WebMvcConfigurer {
 
     private final RateLimitInterceptor rateLimitInterceptor;
+    private final QueryCountInterceptor queryCountInterceptor;
 
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
@@ -26,6 +28,9 @@ public class WebMvcConfig implements WebMvcConfigurer {
                         "/swagger-ui/**",
                         "/v3/api-docs/**"
                 );
+
+        registry.addInterceptor(queryCountInterceptor)
+                .addPathPatterns("/api/**");
     }
 }
 
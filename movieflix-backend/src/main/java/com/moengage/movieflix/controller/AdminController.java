@@ -5,7 +5,9 @@ import com.moengage.movieflix.dto.MovieResponse;
 import com.moengage.movieflix.entity.Movie;
 import com.moengage.movieflix.entity.BlacklistedMovie;
 import com.moengage.movieflix.exception.ResourceNotFoundException;
+import com.moengage.movieflix.service.CatalogSnapshotService;
 import com.moengage.movieflix.service.MovieService;
+import com.moengage.movieflix.service.OmdbNegativeCache;
 import com.moengage.movieflix.repository.BlacklistedMovieRepository;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -16,10 +18,17 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
 
 @RestController
 @RequestMapping("/api/admin/movies")
@@ -32,6 +41,8 @@ public class AdminController {
 
     private final MovieService movieService;
     private final BlacklistedMovieRepository blacklistedMovieRepository;
+    private final OmdbNegativeCache omdbNegativeCache;
+    private final CatalogSnapshotService catalogSnapshotService;
 
     @GetMapping("/test")
     @Operation(
@@ -89,6 +100,47 @@ public class AdminController {
         return ResponseEntity.ok(ApiResponse.success("Movie cache cleared successfully", null));
     }
 
+    @PostMapping("/clear-negative-cache")
+    @Operation(
+            summary = "Clear OMDb negative cache",
+            description = "Forget remembered OMDb 'not found' answers so those searches and IDs are looked up again"
+    )
+    public ResponseEntity<ApiResponse<Long>> clearNegativeCache() {
+        log.info("Admin clearing OMDb negative cache");
+        long cleared = omdbNegativeCache.clear();
+        return ResponseEntity.ok(ApiResponse.success("Negative cache cleared successfully", cleared));
+    }
+
+    @GetMapping("/snapshot")
+    @Operation(
+            summary = "Export catalog snapshot",
+            description = "Download every cached movie as a gzip-compressed snapshot that a fresh instance can load without calling OMDb"
+    )
+    public ResponseEntity<StreamingResponseBody> exportSnapshot() {
+        log.info("Admin exporting catalog snapshot");
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"movies-snapshot.jsonl.gz\"")
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .body(catalogSnapshotService::exportSnapshot);
+    }
+
+    @PostMapping(value = "/snapshot", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(
+            summary = "Import catalog snapshot",
+            description = "Load movies from a snapshot file. Movies already cached or blacklisted are skipped."
+    )
+    public ResponseEntity<ApiResponse<CatalogSnapshotService.ImportResult>> importSnapshot(
+            @Parameter(description = "Snapshot file produced by the export endpoint", required = true)
+            @RequestParam("file") MultipartFile file
+    ) throws IOException {
+        log.info("Admin importing catalog snapshot: {} ({} bytes)", file.getOriginalFilename(), file.getSize());
+        try (InputStream in = file.getInputStream()) {
+            CatalogSnapshotService.ImportResult result = catalogSnapshotService.importSnapshot(in);
+            movieService.evictSearchCaches();
+            return ResponseEntity.ok(ApiResponse.success("Catalog snapshot imported", result));
+        }
+    }
+
     @PutMapping("/{imdbId}")
     @Operation(
             summary = "Update movie in cache (Admin only)",
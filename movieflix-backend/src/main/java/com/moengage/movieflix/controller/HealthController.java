@@ -1,11 +1,25 @@
 package com.moengage.movieflix.controller;
 
+import com.moengage.movieflix.config.MovieDataInitializer;
 import com.moengage.movieflix.dto.ApiResponse;
+import com.moengage.movieflix.interceptor.QueryCountInterceptor;
+import com.moengage.movieflix.service.FuzzyTitleMatcher;
+import com.moengage.movieflix.service.MovieColumnStore;
+import com.moengage.movieflix.service.MovieCountCache;
+import com.moengage.movieflix.service.MovieSearchIdCache;
+import com.moengage.movieflix.service.MovieSearchIndex;
+import com.moengage.movieflix.service.MovieSuggestIndex;
+import com.moengage.movieflix.service.OmdbCircuitBreaker;
+import com.moengage.movieflix.service.OmdbConnectionPoolMetrics;
+import com.moengage.movieflix.service.OmdbNegativeCache;
+import com.moengage.movieflix.service.OmdbQuotaGovernor;
+import com.moengage.movieflix.service.RequestCoalescer;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -19,10 +33,25 @@ import java.util.Map;
 
 @RestController
 @RequestMapping("/api/health")
+@RequiredArgsConstructor
 @Slf4j
 @Tag(name = "Health Check", description = "Application health monitoring endpoints")
 public class HealthController {
 
+    private final RequestCoalescer requestCoalescer;
+    private final OmdbQuotaGovernor omdbQuotaGovernor;
+    private final OmdbCircuitBreaker omdbCircuitBreaker;
+    private final OmdbNegativeCache omdbNegativeCache;
+    private final OmdbConnectionPoolMetrics omdbConnectionPoolMetrics;
+    private final MovieDataInitializer movieDataInitializer;
+    private final MovieSearchIndex movieSearchIndex;
+    private final MovieSuggestIndex movieSuggestIndex;
+    private final MovieColumnStore movieColumnStore;
+    private final FuzzyTitleMatcher fuzzyTitleMatcher;
+    private final MovieCountCache movieCountCache;
+    private final MovieSearchIdCache movieSearchIdCache;
+    private final QueryCountInterceptor queryCountInterceptor;
+
     @GetMapping
     @Operation(
             summary = "Basic health check",
@@ -32,6 +61,7 @@ public class HealthController {
                     
                     **Returns:**
                     - Application status
+                    - OMDb circuit breaker state
                     - Current timestamp
                     - Basic system information
                     """
@@ -51,6 +81,7 @@ public class HealthController {
         healthData.put("timestamp", LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
         healthData.put("service", "MovieFlix Backend");
         healthData.put("version", "1.0.0");
+        healthData.put("omdb", omdbCircuitBreaker.getState().name());
         
         return ResponseEntity.ok(ApiResponse.success(healthData));
     }
@@ -65,6 +96,19 @@ public class HealthController {
                     **Includes:**
                     - Application status
                     - System metrics
+                    - OMDb request coalescing counters
+                    - Remaining OMDb request budget
+                    - OMDb circuit breaker state and failure rates
+                    - OMDb negative cache hit/miss counters
+                    - OMDb connection pool usage and acquire latency
+                    - Startup warm-up progress
+                    - In-memory search index size and search latency
+                    - Typeahead index size and lookup latency
+                    - Column store size and listing scan latency
+                    - Fuzzy title matcher vocabulary and corrections
+                    - Listing count cache hit/miss counters
+                    - Cached search id lists and their hit/miss counters
+                    - SQL statements per request by endpoint
                     - Timestamp
                     """
     )
@@ -92,6 +136,19 @@ public class HealthController {
         systemInfo.put("maxMemory", runtime.maxMemory());
         systemInfo.put("availableProcessors", runtime.availableProcessors());
         healthData.put("system", systemInfo);
+        healthData.put("coalescing", requestCoalescer.getStats());
+        healthData.put("omdbQuota", omdbQuotaGovernor.getStats());
+        healthData.put("omdbCircuitBreaker", omdbCircuitBreaker.getStats());
+        healthData.put("omdbNegativeCache", omdbNegativeCache.getStats());
+        healthData.put("omdbConnectionPool", omdbConnectionPoolMetrics.getStats());
+        healthData.put("warmup", movieDataInitializer.getProgress());
+        healthData.put("searchIndex", movieSearchIndex.getStats());
+        healthData.put("suggestIndex", movieSuggestIndex.getStats());
+        healthData.put("columnStore", movieColumnStore.getStats());
+        healthData.put("fuzzyTitles", fuzzyTitleMatcher.getStats());
+        healthData.put("countCache", movieCountCache.getStats());
+        healthData.put("searchIdCache", movieSearchIdCache.getStats());
+        healthData.put("queryCount", queryCountInterceptor.getStats());
         
         return ResponseEntity.ok(ApiResponse.success(healthData));
     }
@@ -1,9 +1,12 @@
 package com.moengage.movieflix.controller;
 
 import com.moengage.movieflix.dto.ApiResponse;
+import com.moengage.movieflix.dto.MovieBatchRequest;
+import com.moengage.movieflix.dto.MovieBatchResponse;
 import com.moengage.movieflix.dto.MovieListResponse;
 import com.moengage.movieflix.dto.MovieResponse;
 import com.moengage.movieflix.dto.MovieSearchRequest;
+import com.moengage.movieflix.dto.MovieSuggestion;
 import com.moengage.movieflix.service.MovieService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -12,12 +15,14 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/movies")
@@ -39,9 +44,14 @@ public class MovieController {
                     **Examples:**
                     - Search: `?search=Batman`
                     - Filter by genre: `?search=Action&genres=Action&genres=Sci-Fi`
+                    - Movies in every listed genre: `?genres=Action&genres=Sci-Fi&genreMatch=all`
                     - Sort by rating: `?search=Movie&sort=rating&order=desc`
                     - Filter by year: `?search=2000&minYear=2000&maxYear=2020`
                     - Pagination: `?search=Batman&page=0&size=20`
+                    - Next page by cursor: `?search=Batman&size=20&cursor=<nextCursor>`
+                    - Ranked full-text search: `?search=dark knight&engine=index`
+                    - Compact list: `?fields=title,year,poster,imdbRating,genre`
+                    - Facet counts for the filter UI: `?search=Batman&facets=true`
                     """
     )
     @ApiResponses(value = {
@@ -67,6 +77,9 @@ public class MovieController {
             
             @Parameter(description = "Filter by genres (can specify multiple)", example = "[\"Action\", \"Sci-Fi\"]")
             @RequestParam(required = false) List<String> genres,
+
+            @Parameter(description = "How genres combine: any (movie has at least one) or all (movie has every one)", example = "any")
+            @RequestParam(required = false) String genreMatch,
             
             @Parameter(description = "Minimum release year", example = "2000")
             @RequestParam(required = false) Integer minYear,
@@ -81,7 +94,22 @@ public class MovieController {
             @RequestParam(required = false, defaultValue = "0") Integer page,
             
             @Parameter(description = "Page size", example = "10")
-            @RequestParam(required = false, defaultValue = "10") Integer size
+            @RequestParam(required = false, defaultValue = "10") Integer size,
+
+            @Parameter(description = "Search engine: sql (title substring) or index (ranked full-text over title, director, actors and plot)", example = "index")
+            @RequestParam(required = false) String engine,
+
+            @Parameter(description = "Opaque cursor from a previous response's nextCursor; continues after that page with the same sort")
+            @RequestParam(required = false) String cursor,
+
+            @Parameter(description = "Slice mode: omit totalElements/totalPages and only report hasNext, which skips counting", example = "false")
+            @RequestParam(required = false) Boolean slice,
+
+            @Parameter(description = "Sparse fieldset: comma-separated movie fields to return (imdbId is always included); only those columns are read", example = "title,year,poster,imdbRating,genre")
+            @RequestParam(required = false) List<String> fields,
+
+            @Parameter(description = "Include result counts per genre, decade and minimum rating for the current filters", example = "false")
+            @RequestParam(required = false) Boolean facets
     ) {
         log.info("Search movies request: search={}, sort={}, order={}, genres={}, page={}, size={}",
                 search, sort, order, genres, page, size);
@@ -91,17 +119,82 @@ public class MovieController {
                 .sort(sort)
                 .order(order)
                 .genres(genres)
+                .genreMatch(genreMatch)
                 .minYear(minYear)
                 .maxYear(maxYear)
                 .minRating(minRating)
                 .page(page)
                 .size(size)
+                .engine(engine)
+                .cursor(cursor)
+                .slice(slice)
+                .fields(fields)
+                .facets(facets)
                 .build();
 
         MovieListResponse response = movieService.searchMovies(request);
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
+    @GetMapping("/suggest")
+    @Operation(
+            summary = "Typeahead suggestions",
+            description = """
+                    Titles, directors and actors of cached movies starting with the typed prefix
+                    (at any word start), best rated and most voted first.
+                    Served from memory only: never fetches from OMDb or reads the database.
+                    
+                    **Example:** `?q=dark kn`
+                    """
+    )
+    public ResponseEntity<ApiResponse<List<MovieSuggestion>>> suggest(
+            @Parameter(description = "Typed prefix", example = "dark kn", required = true)
+            @RequestParam String q,
+
+            @Parameter(description = "Maximum suggestions (up to 10)", example = "8")
+            @RequestParam(required = false, defaultValue = "8") Integer limit
+    ) {
+        return ResponseEntity.ok(ApiResponse.success(movieService.suggest(q, limit)));
+    }
+
+    @PostMapping("/batch")
+    @Operation(
+            summary = "Get many movies by IMDb ID",
+            description = """
+                    Retrieve details for several movies in one request instead of one GET per movie.
+                    Cached movies are read together; missing ones are fetched from OMDb concurrently.
+                    Ids that are blacklisted or cannot be found are listed in `notFound`.
+                    
+                    **Example body:** `{"imdbIds": ["tt0133093", "tt0468569"], "fields": ["title", "poster"]}`
+                    """
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Movies retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class))
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "No imdbIds, too many imdbIds or an unknown field"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized - JWT token required"
+            )
+    })
+    public ResponseEntity<ApiResponse<MovieBatchResponse>> getMoviesByIds(@Valid @RequestBody MovieBatchRequest request) {
+        log.info("Get {} movies by ID", request.getImdbIds().size());
+        Set<String> selectedFields = MovieResponse.parseFields(request.getFields());
+        MovieBatchResponse response = movieService.getMoviesByIds(request.getImdbIds());
+        if (selectedFields != null) {
+            response.setMovies(response.getMovies().stream()
+                    .map(movie -> movie.withOnly(selectedFields))
+                    .toList());
+        }
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
     @GetMapping("/{imdbId}")
     @Operation(
             summary = "Get movie details by IMDb ID",
@@ -132,10 +225,13 @@ public class MovieController {
     })
     public ResponseEntity<ApiResponse<MovieResponse>> getMovieById(
             @Parameter(description = "IMDb ID of the movie", example = "tt0133093", required = true)
-            @PathVariable String imdbId
+            @PathVariable String imdbId,
+
+            @Parameter(description = "Sparse fieldset: comma-separated movie fields to return (imdbId is always included)", example = "title,year,plot")
+            @RequestParam(required = false) List<String> fields
     ) {
         log.info("Get movie by ID: {}", imdbId);
-        MovieResponse response = movieService.getMovieById(imdbId);
+        MovieResponse response = movieService.getMovieById(imdbId, MovieResponse.parseFields(fields));
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 }
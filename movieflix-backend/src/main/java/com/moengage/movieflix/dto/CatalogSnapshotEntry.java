@@ -0,0 +1,90 @@
+package com.moengage.movieflix.dto;
+
+import com.moengage.movieflix.entity.Movie;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One movie in a catalog snapshot
+ * Carries the OMDb data only; database ids and cache timestamps are not exported
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CatalogSnapshotEntry {
+    private String imdbId;
+    private String title;
+    private Integer year;
+    private String plot;
+    private String director;
+    private List<String> actors;
+    private List<String> genre;
+    private String rated;
+    private Integer runtime;
+    private String language;
+    private String country;
+    private String awards;
+    private String poster;
+    private Double imdbRating;
+    private String imdbVotes;
+    private String type;
+    private String dvd;
+    private String boxOffice;
+    private String production;
+    private String website;
+
+    public static CatalogSnapshotEntry fromEntity(Movie movie) {
+        return CatalogSnapshotEntry.builder()
+                .imdbId(movie.getImdbId())
+                .title(movie.getTitle())
+                .year(movie.getYear())
+                .plot(movie.getPlot())
+                .director(movie.getDirector())
+                .actors(movie.getActors())
+                .genre(movie.getGenre())
+                .rated(movie.getRated())
+                .runtime(movie.getRuntime())
+                .language(movie.getLanguage())
+                .country(movie.getCountry())
+                .awards(movie.getAwards())
+                .poster(movie.getPoster())
+                .imdbRating(movie.getImdbRating())
+                .imdbVotes(movie.getImdbVotes())
+                .type(movie.getType())
+                .dvd(movie.getDvd())
+                .boxOffice(movie.getBoxOffice())
+                .production(movie.getProduction())
+                .website(movie.getWebsite())
+                .build();
+    }
+
+    public Movie toEntity() {
+        return Movie.builder()
+                .imdbId(imdbId)
+                .title(title)
+                .year(year)
+                .plot(plot)
+                .director(director)
+                .actors(actors != null ? actors : List.of())
+                .genre(genre != null ? genre : List.of())
+                .rated(rated)
+                .runtime(runtime)
+                .language(language)
+                .country(country)
+                .awards(awards)
+                .poster(poster)
+                .imdbRating(imdbRating)
+                .imdbVotes(imdbVotes)
+                .type(type)
+                .dvd(dvd)
+                .boxOffice(boxOffice)
+                .production(production)
+                .website(website)
+                .build();
+    }
+}
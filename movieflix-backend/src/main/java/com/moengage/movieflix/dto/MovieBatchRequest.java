@@ -0,0 +1,18 @@
+package com.moengage.movieflix.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MovieBatchRequest {
+    @NotEmpty(message = "imdbIds is required")
+    private List<String> imdbIds;
+
+    private List<String> fields; // sparse fieldset, as for GET /api/movies/{imdbId}
+}
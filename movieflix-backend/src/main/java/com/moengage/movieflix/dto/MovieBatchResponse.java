@@ -0,0 +1,17 @@
+package com.moengage.movieflix.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MovieBatchResponse {
+    private List<MovieResponse> movies; // in request order, each id once
+    private List<String> notFound; // unknown to OMDb, blacklisted, or not fetchable right now
+}
@@ -0,0 +1,79 @@
+package com.moengage.movieflix.dto;
+
+import com.moengage.movieflix.entity.MovieGenres;
+import com.moengage.movieflix.repository.MovieFacetGroup;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Result counts within the current filters, per genre, release decade and
+ * minimum rating. Genres outside MovieGenres are not counted.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MovieFacets {
+    private Map<String, Long> genres; // most frequent first
+    private Map<String, Long> decades; // "1990s", oldest first
+    private Map<String, Long> ratings; // "7+" counts movies rated 7.0 or higher
+
+    public static MovieFacets fromGroups(List<MovieFacetGroup> groups) {
+        long[] genreCounts = new long[MovieGenres.GENRES.size()];
+        Map<Integer, Long> decadeCounts = new TreeMap<>();
+        long[] ratingFloorCounts = new long[11];
+
+        for (MovieFacetGroup group : groups) {
+            long mask = group.genreMask() != null ? group.genreMask() : 0L;
+            for (int bit = 0; bit < genreCounts.length; bit++) {
+                if ((mask & (1L << bit)) != 0) {
+                    genreCounts[bit] += group.count();
+                }
+            }
+            if (group.year() != null) {
+                decadeCounts.merge(group.year() / 10 * 10, group.count(), Long::sum);
+            }
+            if (group.ratingFloor() != null) {
+                ratingFloorCounts[Math.max(0, Math.min(10, group.ratingFloor()))] += group.count();
+            }
+        }
+
+        Map<String, Long> genres = new LinkedHashMap<>();
+        for (int bit = 0; bit < genreCounts.length; bit++) {
+            if (genreCounts[bit] > 0) {
+                genres.put(MovieGenres.GENRES.get(bit), genreCounts[bit]);
+            }
+        }
+        Map<String, Long> byCount = new LinkedHashMap<>();
+        genres.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()))
+                .forEach(entry -> byCount.put(entry.getKey(), entry.getValue()));
+
+        Map<String, Long> decades = new LinkedHashMap<>();
+        decadeCounts.forEach((decade, count) -> decades.put(decade + "s", count));
+
+        // Cumulative from the top, matching what minRating would return
+        Map<String, Long> ratings = new LinkedHashMap<>();
+        long atLeast = 0;
+        for (int floor = 10; floor >= 1; floor--) {
+            atLeast += ratingFloorCounts[floor];
+            if (floor < 10 || atLeast > 0) {
+                ratings.put(floor + "+", atLeast);
+            }
+        }
+
+        return MovieFacets.builder()
+                .genres(byCount)
+                .decades(decades)
+                .ratings(ratings)
+                .build();
+    }
+}
@@ -13,9 +13,14 @@ import java.util.List;
 @Builder
 public class MovieListResponse {
     private List<MovieResponse> movies;
-    private long totalElements;
-    private int totalPages;
+    private Long totalElements; // absent in slice mode
+    private Integer totalPages; // absent in slice mode
     private int currentPage;
     private int pageSize;
+    private boolean hasNext;
+    private boolean refreshing; // more results may arrive from a background OMDb refresh
+    private String nextCursor; // pass as cursor to get the following page; absent on the last page
+    private MovieFacets facets; // only when requested with facets=true
+    private String correctedSearch; // the spelling used when a misspelled search was answered from the cache
 }
 
@@ -1,19 +1,29 @@
 package com.moengage.movieflix.dto;
 
 import com.moengage.movieflix.entity.Movie;
+import com.moengage.movieflix.exception.BadRequestException;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class MovieResponse {
+
+    // Selectable with fields=; the names match the Movie attributes they are read from
+    public static final Set<String> FIELDS = Set.of(
+            "imdbId", "title", "year", "plot", "director", "actors", "genre", "rated", "runtime",
+            "language", "country", "awards", "poster", "imdbRating", "imdbVotes", "type", "cachedAt");
+
     private String imdbId;
     private String title;
     private Integer year;
@@ -39,8 +49,8 @@ public class MovieResponse {
                 .year(movie.getYear())
                 .plot(movie.getPlot())
                 .director(movie.getDirector())
-                .actors(movie.getActors())
-                .genre(movie.getGenre())
+                .actors(copyOf(movie.getActors()))
+                .genre(copyOf(movie.getGenre()))
                 .rated(movie.getRated())
                 .runtime(movie.getRuntime())
                 .language(movie.getLanguage())
@@ -53,5 +63,57 @@ public class MovieResponse {
                 .cachedAt(movie.getCachedAt())
                 .build();
     }
-}
 
+    // Plain lists, so responses outlive the session that loaded the movie (and the cache can hold them)
+    private static List<String> copyOf(List<String> values) {
+        return values != null ? new ArrayList<>(values) : null;
+    }
+
+    /**
+     * Sparse fieldset from a fields= parameter; null when all fields are wanted.
+     * imdbId is always included as the movie's key.
+     */
+    public static Set<String> parseFields(List<String> fields) {
+        if (fields == null || fields.isEmpty()) {
+            return null;
+        }
+        Set<String> selected = new LinkedHashSet<>();
+        selected.add("imdbId");
+        for (String field : fields) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!FIELDS.contains(name)) {
+                throw new BadRequestException("Unknown field: " + name);
+            }
+            selected.add(name);
+        }
+        return selected;
+    }
+
+    /**
+     * Copy holding only the given fields; the others are left out of the JSON
+     */
+    public MovieResponse withOnly(Set<String> fields) {
+        return MovieResponse.builder()
+                .imdbId(fields.contains("imdbId") ? imdbId : null)
+                .title(fields.contains("title") ? title : null)
+                .year(fields.contains("year") ? year : null)
+                .plot(fields.contains("plot") ? plot : null)
+                .director(fields.contains("director") ? director : null)
+                .actors(fields.contains("actors") ? actors : null)
+                .genre(fields.contains("genre") ? genre : null)
+                .rated(fields.contains("rated") ? rated : null)
+                .runtime(fields.contains("runtime") ? runtime : null)
+                .language(fields.contains("language") ? language : null)
+                .country(fields.contains("country") ? country : null)
+                .awards(fields.contains("awards") ? awards : null)
+                .poster(fields.contains("poster") ? poster : null)
+                .imdbRating(fields.contains("imdbRating") ? imdbRating : null)
+                .imdbVotes(fields.contains("imdbVotes") ? imdbVotes : null)
+                .type(fields.contains("type") ? type : null)
+                .cachedAt(fields.contains("cachedAt") ? cachedAt : null)
+                .build();
+    }
+}
@@ -10,16 +10,26 @@ import java.util.List;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class MovieSearchRequest {
     private String search;
     private String sort; // rating, year, title, runtime
     private String order; // asc, desc
     private List<String> genres;
+    private String genreMatch; // any (default), all
     private Integer minYear;
     private Integer maxYear;
     private Double minRating;
     private Integer page;
     private Integer size;
+    private String engine; // sql, index
+    private String cursor; // opaque keyset position from a previous nextCursor
+    private Boolean slice; // skip totals, only report whether a next page exists
+    private List<String> fields; // sparse fieldset, MovieResponse property names
+    private Boolean facets; // include genre, decade and rating counts for the filters
+
+    public boolean matchAllGenres() {
+        return "all".equalsIgnoreCase(genreMatch);
+    }
 }
 
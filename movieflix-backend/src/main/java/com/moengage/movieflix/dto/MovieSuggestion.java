@@ -0,0 +1,17 @@
+package com.moengage.movieflix.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MovieSuggestion {
+    private String type; // title, director, actor
+    private String text;
+    private String imdbId; // titles only
+    private Integer year; // titles only
+}
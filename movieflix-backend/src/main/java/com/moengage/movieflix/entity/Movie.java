@@ -6,8 +6,12 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.text.Normalizer;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
 
 @Entity
 @Table(name = "movies", indexes = {
@@ -17,7 +21,13 @@ import java.util.List;
     @Index(name = "idx_rating", columnList = "imdbRating"),
     @Index(name = "idx_year", columnList = "release_year"),
     @Index(name = "idx_title_year", columnList = "title, release_year"),
-    @Index(name = "idx_rating_year", columnList = "imdbRating, release_year")
+    @Index(name = "idx_rating_year", columnList = "imdbRating, release_year"),
+    // Keyset pagination: sort key plus the imdbId tie-breaker
+    @Index(name = "idx_rating_imdb_id", columnList = "imdbRating, imdbId"),
+    @Index(name = "idx_year_imdb_id", columnList = "release_year, imdbId"),
+    @Index(name = "idx_title_imdb_id", columnList = "title, imdbId"),
+    @Index(name = "idx_runtime_imdb_id", columnList = "runtime, imdbId"),
+    @Index(name = "idx_cached_at_imdb_id", columnList = "cachedAt, imdbId")
 })
 @Data
 @NoArgsConstructor
@@ -25,8 +35,16 @@ import java.util.List;
 @Builder
 public class Movie {
 
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    public static final String ID_SEQUENCE = "movies_seq";
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // Sequence ids (allocated in blocks) let Hibernate batch inserts; IDENTITY disables batching
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "movie_id")
+    @SequenceGenerator(name = "movie_id", sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false, unique = true)
@@ -35,6 +53,10 @@ public class Movie {
     @Column(nullable = false)
     private String title;
 
+    // Search key for substring title search, see normalizeTitle; trigram-indexed on PostgreSQL
+    @Column(name = "normalized_title")
+    private String normalizedTitle;
+
     @Column(name = "release_year", nullable = false)
     private Integer year;
 
@@ -53,6 +75,10 @@ public class Movie {
     @Column(name = "genre")
     private List<String> genre;
 
+    // Dictionary-encoded copy of genre (see MovieGenres) so genre filters need no join
+    @Column(name = "genre_mask")
+    private Long genreMask;
+
     private String rated;
 
     private Integer runtime; // in minutes
@@ -84,12 +110,42 @@ public class Movie {
 
     @PrePersist
     protected void onCreate() {
-        cachedAt = LocalDateTime.now();
+        cachedAt = now();
+        normalizedTitle = normalizeTitle(title);
+        genreMask = MovieGenres.maskOf(genre);
     }
 
     @PreUpdate
     protected void onUpdate() {
-        cachedAt = LocalDateTime.now();
+        cachedAt = now();
+        normalizedTitle = normalizeTitle(title);
+        genreMask = MovieGenres.maskOf(genre);
+    }
+
+    /**
+     * The current time at the microsecond precision the database keeps, so a
+     * written movie sorts (and builds cursors) the same as when it is read back
+     */
+    public static LocalDateTime now() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
+    // Keeps genreMask in step when genres change on an already stored movie
+    public void setGenre(List<String> genre) {
+        this.genre = genre;
+        this.genreMask = MovieGenres.maskOf(genre);
+    }
+
+    /**
+     * Case- and accent-insensitive form of a title, used for both the stored
+     * search key and search terms: "Amélie  " becomes "amelie"
+     */
+    public static String normalizeTitle(String title) {
+        if (title == null) {
+            return null;
+        }
+        String withoutAccents = DIACRITICS.matcher(Normalizer.normalize(title, Normalizer.Form.NFD)).replaceAll("");
+        return WHITESPACE.matcher(withoutAccents.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
     }
 }
 
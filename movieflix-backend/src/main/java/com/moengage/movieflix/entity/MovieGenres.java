@@ -0,0 +1,50 @@
+package com.moengage.movieflix.entity;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dictionary encoding of OMDb genres into the bits of {@link Movie#getGenreMask()}
+ * A genre's bit is its position in {@link #GENRES}, so the list is append-only:
+ * reordering would change the meaning of stored masks. After appending a genre,
+ * set genre_mask to NULL so the startup backfill recomputes it for stored movies.
+ */
+public final class MovieGenres {
+
+    public static final List<String> GENRES = List.of(
+            "Action", "Adult", "Adventure", "Animation", "Biography", "Comedy", "Crime",
+            "Documentary", "Drama", "Family", "Fantasy", "Film-Noir", "Game-Show", "History",
+            "Horror", "Music", "Musical", "Mystery", "News", "Reality-TV", "Romance",
+            "Sci-Fi", "Short", "Sport", "Talk-Show", "Thriller", "War", "Western"
+    );
+
+    private static final Map<String, Long> BITS = new HashMap<>();
+
+    static {
+        for (int i = 0; i < GENRES.size(); i++) {
+            BITS.put(GENRES.get(i), 1L << i);
+        }
+    }
+
+    private MovieGenres() {
+    }
+
+    public static boolean isKnown(String genre) {
+        return BITS.containsKey(genre);
+    }
+
+    /**
+     * Bitwise OR of the known genres; genres outside the dictionary have no bit
+     */
+    public static long maskOf(Collection<String> genres) {
+        long mask = 0L;
+        if (genres != null) {
+            for (String genre : genres) {
+                mask |= BITS.getOrDefault(genre, 0L);
+            }
+        }
+        return mask;
+    }
+}
@@ -0,0 +1,48 @@
+package com.moengage.movieflix.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * OMDb search results remembered per normalized query text
+ * Lets repeat searches skip the OMDb search call until the entry expires
+ */
+@Entity
+@Table(name = "search_query_results", indexes = {
+    @Index(name = "idx_search_query", columnList = "query", unique = true),
+    @Index(name = "idx_search_fetched_at", columnList = "fetchedAt")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SearchQueryResult {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String query;
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "search_query_result_ids", joinColumns = @JoinColumn(name = "search_query_result_id"))
+    @OrderColumn(name = "position")
+    @Column(name = "imdb_id")
+    private List<String> imdbIds;
+
+    @Column(nullable = false)
+    private LocalDateTime fetchedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        fetchedAt = LocalDateTime.now();
+    }
+}
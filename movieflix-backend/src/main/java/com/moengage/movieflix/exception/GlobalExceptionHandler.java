@@ -43,6 +43,22 @@ public class GlobalExceptionHandler {
                 .body(ApiResponse.error("External service error: " + ex.getMessage()));
     }
 
+    @ExceptionHandler(OmdbUnavailableException.class)
+    public ResponseEntity<ApiResponse<Void>> handleOmdbUnavailable(OmdbUnavailableException ex) {
+        log.warn("OMDb unavailable: {}", ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(ApiResponse.error("Movie is not cached and the external service is temporarily unavailable. Please try again later."));
+    }
+
+    @ExceptionHandler(OmdbQuotaExceededException.class)
+    public ResponseEntity<ApiResponse<Void>> handleOmdbQuotaExceeded(OmdbQuotaExceededException ex) {
+        log.warn("OMDb quota exceeded: {}", ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(ApiResponse.error("Movie is not cached and the external service budget is exhausted. Please try again later."));
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ApiResponse<Map<String, String>>> handleValidationExceptions(
             MethodArgumentNotValidException ex) {
@@ -0,0 +1,7 @@
+package com.moengage.movieflix.exception;
+
+public class OmdbQuotaExceededException extends RuntimeException {
+    public OmdbQuotaExceededException(String message) {
+        super(message);
+    }
+}
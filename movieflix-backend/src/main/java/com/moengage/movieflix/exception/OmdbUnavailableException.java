@@ -0,0 +1,7 @@
+package com.moengage.movieflix.exception;
+
+public class OmdbUnavailableException extends ExternalApiException {
+    public OmdbUnavailableException(String message) {
+        super(message);
+    }
+}
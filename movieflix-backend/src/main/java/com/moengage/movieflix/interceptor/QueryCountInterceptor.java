@@ -0,0 +1,100 @@
+package com.moengage.movieflix.interceptor;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Query Count Interceptor
+ * Counts the SQL statements Hibernate prepares while handling each API request
+ * and keeps the last and highest count per endpoint. A list page should report
+ * the same count whatever its size; requests over the budget are logged.
+ */
+@Component
+@Slf4j
+public class QueryCountInterceptor implements HandlerInterceptor, StatementInspector, HibernatePropertiesCustomizer {
+
+    private static final ThreadLocal<int[]> STATEMENTS = new ThreadLocal<>();
+
+    private final Map<String, EndpointQueries> endpoints = new ConcurrentHashMap<>();
+    private final AtomicLong overBudget = new AtomicLong();
+
+    @Value("${app.query-count.max-per-request:10}")
+    private int maxPerRequest;
+
+    private static class EndpointQueries {
+        private final AtomicLong requests = new AtomicLong();
+        private volatile int last;
+        private volatile int max;
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+    }
+
+    @Override
+    public String inspect(String sql) {
+        int[] count = STATEMENTS.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        STATEMENTS.set(new int[1]);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        int[] count = STATEMENTS.get();
+        STATEMENTS.remove();
+        if (count == null) {
+            return;
+        }
+
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String endpoint = request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+        EndpointQueries queries = endpoints.computeIfAbsent(endpoint, key -> new EndpointQueries());
+        queries.requests.incrementAndGet();
+        queries.last = count[0];
+        queries.max = Math.max(queries.max, count[0]);
+
+        if (count[0] > maxPerRequest) {
+            overBudget.incrementAndGet();
+            log.warn("{} ran {} SQL statements, budget is {}", endpoint, count[0], maxPerRequest);
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> perEndpoint = new LinkedHashMap<>();
+        endpoints.forEach((endpoint, queries) -> {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("requests", queries.requests.get());
+            entry.put("lastStatements", queries.last);
+            entry.put("maxStatements", queries.max);
+            perEndpoint.put(endpoint, entry);
+        });
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("maxPerRequest", maxPerRequest);
+        stats.put("overBudget", overBudget.get());
+        stats.put("endpoints", perEndpoint);
+        return stats;
+    }
+}
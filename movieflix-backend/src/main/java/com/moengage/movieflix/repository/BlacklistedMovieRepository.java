@@ -2,12 +2,25 @@ package com.moengage.movieflix.repository;
 
 import com.moengage.movieflix.entity.BlacklistedMovie;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public interface BlacklistedMovieRepository extends JpaRepository<BlacklistedMovie, Long> {
     Optional<BlacklistedMovie> findByImdbId(String imdbId);
     boolean existsByImdbId(String imdbId);
+
+    @Query("SELECT b.imdbId FROM BlacklistedMovie b")
+    List<String> findAllImdbIds();
+
+    /**
+     * The subset of the given imdbIds that are blacklisted, in one query
+     */
+    @Query("SELECT b.imdbId FROM BlacklistedMovie b WHERE b.imdbId IN :imdbIds")
+    Set<String> findBlacklistedImdbIds(Collection<String> imdbIds);
 }
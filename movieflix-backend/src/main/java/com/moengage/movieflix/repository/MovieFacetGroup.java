@@ -0,0 +1,7 @@
+package com.moengage.movieflix.repository;
+
+/**
+ * Number of movies sharing one genre mask, release year and whole IMDb rating
+ */
+public record MovieFacetGroup(Long genreMask, Integer year, Integer ratingFloor, long count) {
+}
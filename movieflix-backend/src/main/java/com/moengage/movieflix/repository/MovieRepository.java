@@ -7,13 +7,17 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
-public interface MovieRepository extends JpaRepository<Movie, Long>, JpaSpecificationExecutor<Movie> {
+public interface MovieRepository extends JpaRepository<Movie, Long>, JpaSpecificationExecutor<Movie>, MovieRepositoryCustom {
     
     Optional<Movie> findByImdbId(String imdbId);
+
+    List<Movie> findByImdbIdIn(Collection<String> imdbIds);
     
     List<Movie> findByTitleContainingIgnoreCase(String title);
     
@@ -27,5 +31,14 @@ public interface MovieRepository extends JpaRepository<Movie, Long>, JpaSpecific
     Double findAverageRating();
     
     boolean existsByImdbId(String imdbId);
+
+    @Query("SELECT m.imdbId FROM Movie m")
+    List<String> findAllImdbIds();
+
+    /**
+     * The subset of the given imdbIds that are already cached, in one query
+     */
+    @Query("SELECT m.imdbId FROM Movie m WHERE m.imdbId IN :imdbIds")
+    Set<String> findExistingImdbIds(Collection<String> imdbIds);
 }
 
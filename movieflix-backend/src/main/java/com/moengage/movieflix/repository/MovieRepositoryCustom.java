@@ -0,0 +1,41 @@
+package com.moengage.movieflix.repository;
+
+import com.moengage.movieflix.entity.Movie;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Set;
+
+public interface MovieRepositoryCustom {
+
+    /**
+     * Rows of the specification (including any ordering it applies) from the
+     * offset, without the COUNT query that paged findAll issues
+     */
+    List<Movie> findSlice(Specification<Movie> spec, int offset, int limit);
+
+    /**
+     * imdbIds of the first rows of the specification, in the order it applies;
+     * a single-column read for caching the order of a whole search
+     */
+    List<String> findImdbIds(Specification<Movie> spec, int limit);
+
+    /**
+     * Like {@link #findSlice}, but reads only the given Movie attributes (plus id
+     * and imdbId) into detached, partially filled movies. The actors and genre
+     * collections are read with one query each when requested.
+     */
+    List<Movie> findSliceColumns(Specification<Movie> spec, Set<String> attributes, int offset, int limit);
+
+    /**
+     * Movies of the specification grouped by genre mask, year and whole rating,
+     * in one aggregate query; the input for {@link com.moengage.movieflix.dto.MovieFacets}
+     */
+    List<MovieFacetGroup> countFacetGroups(Specification<Movie> spec);
+
+    /**
+     * Loads the actors and genre collections of already loaded movies with one
+     * query per collection, instead of one lazy load per movie and collection
+     */
+    void fetchCollections(List<Movie> movies);
+}
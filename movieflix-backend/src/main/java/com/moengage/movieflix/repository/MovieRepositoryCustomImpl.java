@@ -0,0 +1,149 @@
+package com.moengage.movieflix.repository;
+
+import com.moengage.movieflix.entity.Movie;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class MovieRepositoryCustomImpl implements MovieRepositoryCustom {
+
+    private static final Set<String> COLLECTIONS = Set.of("actors", "genre");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Movie> findSlice(Specification<Movie> spec, int offset, int limit) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Movie> query = criteriaBuilder.createQuery(Movie.class);
+        Root<Movie> root = query.from(Movie.class);
+        Predicate predicate = spec.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(root);
+        return entityManager.createQuery(query)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public List<String> findImdbIds(Specification<Movie> spec, int limit) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<String> query = criteriaBuilder.createQuery(String.class);
+        Root<Movie> root = query.from(Movie.class);
+        Predicate predicate = spec.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(root.get("imdbId"));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public List<Movie> findSliceColumns(Specification<Movie> spec, Set<String> attributes, int offset, int limit) {
+        Set<String> columns = new LinkedHashSet<>(List.of("id", "imdbId"));
+        attributes.stream().filter(attribute -> !COLLECTIONS.contains(attribute)).forEach(columns::add);
+
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        Root<Movie> root = query.from(Movie.class);
+        Predicate predicate = spec.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        List<Selection<?>> selections = new ArrayList<>();
+        columns.forEach(column -> selections.add(root.get(column).alias(column)));
+        query.multiselect(selections);
+
+        List<Tuple> rows = entityManager.createQuery(query)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+
+        List<Movie> movies = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            BeanWrapper movie = new BeanWrapperImpl(new Movie());
+            columns.forEach(column -> movie.setPropertyValue(column, row.get(column)));
+            movies.add((Movie) movie.getWrappedInstance());
+        }
+
+        for (String collection : COLLECTIONS) {
+            if (attributes.contains(collection)) {
+                loadElements(movies, collection);
+            }
+        }
+        return movies;
+    }
+
+    @Override
+    public List<MovieFacetGroup> countFacetGroups(Specification<Movie> spec) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        Root<Movie> root = query.from(Movie.class);
+        Predicate predicate = spec.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        Expression<Long> genreMask = root.get("genreMask");
+        Expression<Integer> year = root.get("year");
+        Expression<Double> ratingFloor = criteriaBuilder.function("floor", Double.class, root.get("imdbRating"));
+        query.multiselect(genreMask, year, ratingFloor, criteriaBuilder.count(root));
+        query.groupBy(genreMask, year, ratingFloor);
+
+        return entityManager.createQuery(query).getResultList().stream()
+                .map(row -> new MovieFacetGroup(
+                        row.get(0, Long.class),
+                        row.get(1, Integer.class),
+                        row.get(2) != null ? ((Number) row.get(2)).intValue() : null,
+                        row.get(3, Long.class)))
+                .toList();
+    }
+
+    private void loadElements(List<Movie> movies, String collection) {
+        if (movies.isEmpty()) {
+            return;
+        }
+        Map<Long, List<String>> elementsById = new HashMap<>();
+        movies.forEach(movie -> elementsById.put(movie.getId(), new ArrayList<>()));
+        entityManager.createQuery("SELECT m.id, e FROM Movie m JOIN m." + collection + " e WHERE m.id IN :ids", Object[].class)
+                .setParameter("ids", elementsById.keySet())
+                .getResultList()
+                .forEach(row -> elementsById.get((Long) row[0]).add((String) row[1]));
+        movies.forEach(movie -> new BeanWrapperImpl(movie).setPropertyValue(collection, elementsById.get(movie.getId())));
+    }
+
+    @Override
+    public void fetchCollections(List<Movie> movies) {
+        if (movies.isEmpty()) {
+            return;
+        }
+        List<Long> ids = movies.stream().map(Movie::getId).toList();
+        // Two queries: fetching both bags in one would multiply actors by genres per movie
+        entityManager.createQuery("SELECT m FROM Movie m LEFT JOIN FETCH m.actors WHERE m.id IN :ids", Movie.class)
+                .setParameter("ids", ids)
+                .getResultList();
+        entityManager.createQuery("SELECT m FROM Movie m LEFT JOIN FETCH m.genre WHERE m.id IN :ids", Movie.class)
+                .setParameter("ids", ids)
+                .getResultList();
+    }
+}
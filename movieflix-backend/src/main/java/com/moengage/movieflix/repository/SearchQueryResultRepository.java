@@ -0,0 +1,19 @@
+package com.moengage.movieflix.repository;
+
+import com.moengage.movieflix.entity.SearchQueryResult;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface SearchQueryResultRepository extends JpaRepository<SearchQueryResult, Long> {
+
+    Optional<SearchQueryResult> findByQuery(String query);
+
+    @Query("SELECT r FROM SearchQueryResult r WHERE r.fetchedAt < :expiryTime")
+    List<SearchQueryResult> findExpiredResults(LocalDateTime expiryTime);
+}
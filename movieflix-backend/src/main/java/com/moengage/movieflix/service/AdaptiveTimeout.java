@@ -0,0 +1,34 @@
+package com.moengage.movieflix.service;
+
+import java.time.Duration;
+
+/**
+ * Request timeout that follows observed latency
+ * Keeps an exponentially weighted moving average of successful call latency and
+ * uses a multiple of it as the timeout, bounded by a floor and a ceiling
+ */
+class AdaptiveTimeout {
+
+    private static final double SMOOTHING = 0.2;
+    private static final double LATENCY_MULTIPLIER = 4.0;
+
+    private final long floorNanos;
+    private final long ceilingNanos;
+    private volatile double averageLatencyNanos;
+
+    AdaptiveTimeout(Duration floor, Duration ceiling) {
+        this.floorNanos = floor.toNanos();
+        this.ceilingNanos = Math.max(ceiling.toNanos(), floorNanos);
+        // Start at the ceiling until real latencies have been observed
+        this.averageLatencyNanos = ceilingNanos / LATENCY_MULTIPLIER;
+    }
+
+    Duration current() {
+        long timeout = (long) (averageLatencyNanos * LATENCY_MULTIPLIER);
+        return Duration.ofNanos(Math.max(floorNanos, Math.min(ceilingNanos, timeout)));
+    }
+
+    void recordLatency(long latencyNanos) {
+        averageLatencyNanos = SMOOTHING * latencyNanos + (1 - SMOOTHING) * averageLatencyNanos;
+    }
+}
@@ -1,7 +1,9 @@
 package com.moengage.movieflix.service;
 
 import com.moengage.movieflix.entity.Movie;
+import com.moengage.movieflix.entity.SearchQueryResult;
 import com.moengage.movieflix.repository.MovieRepository;
+import com.moengage.movieflix.repository.SearchQueryResultRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -18,23 +20,48 @@ import java.util.List;
 public class CacheCleanupService {
 
     private final MovieRepository movieRepository;
+    private final SearchQueryResultRepository searchQueryResultRepository;
+    private final OmdbApiService omdbApiService;
+    private final MovieIndexUpdater movieIndexUpdater;
 
     @Value("${app.cache.expiry-hours}")
     private int expiryHours;
 
+    @Value("${app.cache.stale-retention-hours:168}")
+    private int staleRetentionHours;
+
+    @Value("${app.search.query-result-ttl-minutes:60}")
+    private long queryResultTtlMinutes;
+
     @Scheduled(cron = "0 0 * * * *") // Run every hour
     @Transactional
     public void cleanupExpiredCache() {
         log.info("Starting cache cleanup task");
-        
-        LocalDateTime expiryTime = LocalDateTime.now().minusHours(expiryHours);
-        List<Movie> expiredMovies = movieRepository.findExpiredMovies(expiryTime);
-        
-        if (!expiredMovies.isEmpty()) {
-            movieRepository.deleteAll(expiredMovies);
-            log.info("Cleaned up {} expired movies from cache", expiredMovies.size());
+
+        // Expired movies are the only copy we can serve while OMDb is down
+        if (omdbApiService.isCircuitOpen()) {
+            log.warn("OMDb circuit breaker is open, keeping expired movies");
+            return;
+        }
+
+        // Expired movies are refreshed when read; only those unread for the whole retention window are dropped
+        LocalDateTime retentionTime = LocalDateTime.now().minusHours(Math.max(staleRetentionHours, expiryHours));
+        List<Movie> staleMovies = movieRepository.findExpiredMovies(retentionTime);
+
+        if (!staleMovies.isEmpty()) {
+            movieRepository.deleteAll(staleMovies);
+            List<String> staleIds = staleMovies.stream().map(Movie::getImdbId).toList();
+            movieIndexUpdater.removed(staleIds);
+            log.info("Cleaned up {} movies cached more than {} hours ago", staleMovies.size(), staleRetentionHours);
         } else {
-            log.info("No expired movies found");
+            log.info("No movies past the stale retention found");
+        }
+
+        List<SearchQueryResult> expiredResults = searchQueryResultRepository.findExpiredResults(
+                LocalDateTime.now().minusMinutes(queryResultTtlMinutes));
+        if (!expiredResults.isEmpty()) {
+            searchQueryResultRepository.deleteAll(expiredResults);
+            log.info("Cleaned up {} expired search query results", expiredResults.size());
         }
     }
 }
@@ -0,0 +1,184 @@
+package com.moengage.movieflix.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.moengage.movieflix.dto.CatalogSnapshotEntry;
+import com.moengage.movieflix.entity.Movie;
+import com.moengage.movieflix.exception.BadRequestException;
+import com.moengage.movieflix.repository.BlacklistedMovieRepository;
+import com.moengage.movieflix.repository.MovieRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Catalog snapshots: export the cached movies to a compact file and load
+ * them back without calling OMDb
+ *
+ * Format: gzip-compressed JSON lines. The first line is a header
+ * ({"format":"movieflix-catalog","version":1,...}), every following line
+ * is one {@link CatalogSnapshotEntry}. Plain (uncompressed) files are accepted on import.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CatalogSnapshotService {
+
+    public static final String FORMAT = "movieflix-catalog";
+    public static final int VERSION = 1;
+
+    private final MovieRepository movieRepository;
+    private final BlacklistedMovieRepository blacklistedMovieRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final MovieIngestionWriter movieIngestionWriter;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.catalog.snapshot.batch-size:500}")
+    private int batchSize;
+
+    public record ImportResult(int imported, int skipped) {
+    }
+
+    /**
+     * Write every cached movie to the stream as a gzip-compressed snapshot
+     * @return number of movies exported
+     */
+    public int exportSnapshot(OutputStream out) {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        ObjectWriter writer = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        try {
+            GZIPOutputStream gzip = new GZIPOutputStream(out);
+            Map<String, Object> header = new LinkedHashMap<>();
+            header.put("format", FORMAT);
+            header.put("version", VERSION);
+            header.put("count", movieRepository.count());
+            header.put("exportedAt", Instant.now().toString());
+            writeLine(writer, gzip, header);
+
+            int exported = 0;
+            int pageNumber = 0;
+            boolean hasNext = true;
+            while (hasNext) {
+                PageRequest pageRequest = PageRequest.of(pageNumber++, batchSize, Sort.by("id"));
+                // Element collections are lazy, so each page is converted inside its own transaction
+                List<CatalogSnapshotEntry> entries = new ArrayList<>();
+                hasNext = Boolean.TRUE.equals(readOnly.execute(status -> {
+                    Page<Movie> page = movieRepository.findAll(pageRequest);
+                    page.forEach(movie -> entries.add(CatalogSnapshotEntry.fromEntity(movie)));
+                    return page.hasNext();
+                }));
+                for (CatalogSnapshotEntry entry : entries) {
+                    writeLine(writer, gzip, entry);
+                }
+                exported += entries.size();
+            }
+            gzip.finish();
+            log.info("Exported catalog snapshot with {} movies", exported);
+            return exported;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write catalog snapshot", e);
+        }
+    }
+
+    /**
+     * Load a snapshot into the database in batches.
+     * Movies that are already cached or blacklisted are skipped, so importing is idempotent.
+     */
+    public ImportResult importSnapshot(InputStream in) {
+        long start = System.nanoTime();
+        Set<String> knownIds = new HashSet<>(movieRepository.findAllImdbIds());
+        knownIds.addAll(blacklistedMovieRepository.findAllImdbIds());
+
+        ObjectReader reader = objectMapper.readerFor(CatalogSnapshotEntry.class);
+
+        int imported = 0;
+        int skipped = 0;
+        try (BufferedReader lines = new BufferedReader(new InputStreamReader(decompress(in), StandardCharsets.UTF_8))) {
+            readHeader(lines.readLine());
+            List<Movie> batch = new ArrayList<>(batchSize);
+            String line;
+            while ((line = lines.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                CatalogSnapshotEntry entry = reader.readValue(line);
+                if (entry.getImdbId() == null || entry.getTitle() == null || entry.getYear() == null
+                        || !knownIds.add(entry.getImdbId())) {
+                    skipped++;
+                    continue;
+                }
+                batch.add(entry.toEntity());
+                if (batch.size() >= batchSize) {
+                    imported += saveBatch(batch);
+                }
+            }
+            imported += saveBatch(batch);
+        } catch (IOException e) {
+            throw new BadRequestException("Invalid catalog snapshot: " + e.getMessage());
+        }
+
+        log.info("Imported {} movies from catalog snapshot ({} skipped) in {} ms",
+                imported, skipped, (System.nanoTime() - start) / 1_000_000);
+        return new ImportResult(imported, skipped);
+    }
+
+    private int saveBatch(List<Movie> batch) {
+        int size = movieIngestionWriter.upsert(batch).size();
+        batch.clear();
+        return size;
+    }
+
+    private void readHeader(String line) throws IOException {
+        if (line == null) {
+            throw new IOException("snapshot is empty");
+        }
+        Map<?, ?> header = objectMapper.readValue(line, Map.class);
+        if (!FORMAT.equals(header.get("format"))) {
+            throw new IOException("missing " + FORMAT + " header");
+        }
+        if (!(header.get("version") instanceof Number version) || version.intValue() > VERSION) {
+            throw new IOException("unsupported snapshot version " + header.get("version"));
+        }
+    }
+
+    private InputStream decompress(InputStream in) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(in);
+        buffered.mark(2);
+        int magic = buffered.read() | (buffered.read() << 8);
+        buffered.reset();
+        return magic == GZIPInputStream.GZIP_MAGIC ? new GZIPInputStream(buffered) : buffered;
+    }
+
+    private void writeLine(ObjectWriter writer, OutputStream out, Object value) throws IOException {
+        writer.writeValue(out, value);
+        out.write('\n');
+    }
+}
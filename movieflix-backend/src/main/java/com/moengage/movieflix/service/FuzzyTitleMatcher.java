@@ -0,0 +1,287 @@
+package com.moengage.movieflix.service;
+
+import com.moengage.movieflix.entity.Movie;
+import com.moengage.movieflix.repository.MovieRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Spelling correction for title searches against the cached catalog
+ * Keeps the words of all cached titles with a trigram index over them. A
+ * search word that is no title word is replaced by the closest title word
+ * within a small edit distance, so "intersteller" becomes "interstellar".
+ * Candidates come from shared trigrams and are verified with the optimal
+ * string alignment distance (Levenshtein plus adjacent swaps).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class FuzzyTitleMatcher implements CommandLineRunner {
+
+    private static final int MIN_WORD_LENGTH = 4;
+    private static final int BUILD_PAGE_SIZE = 500;
+
+    private final MovieRepository movieRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> titleCountByWord = new HashMap<>();
+    private final Map<String, Set<String>> wordsByTrigram = new HashMap<>();
+    private final Map<String, Set<String>> wordsByImdbId = new HashMap<>();
+
+    private final AtomicLong corrections = new AtomicLong();
+
+    @Value("${app.search.fuzzy.enabled:true}")
+    private boolean enabled;
+
+    @Override
+    public void run(String... args) {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    public void rebuild() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        lock.writeLock().lock();
+        try {
+            clearIndex();
+            int pageNumber = 0;
+            boolean hasNext = true;
+            while (hasNext) {
+                PageRequest pageRequest = PageRequest.of(pageNumber++, BUILD_PAGE_SIZE, Sort.by("id"));
+                hasNext = Boolean.TRUE.equals(readOnly.execute(status -> {
+                    Page<Movie> page = movieRepository.findAll(pageRequest);
+                    page.forEach(movie -> addTitle(movie.getImdbId(), movie.getTitle()));
+                    return page.hasNext();
+                }));
+            }
+            log.info("Built fuzzy title matcher: {} words", titleCountByWord.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void index(Collection<Movie> movies) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            for (Movie movie : movies) {
+                removeTitle(movie.getImdbId());
+                addTitle(movie.getImdbId(), movie.getTitle());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Collection<String> imdbIds) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            imdbIds.forEach(this::removeTitle);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            clearIndex();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * The search with its unknown words replaced by the nearest title words,
+     * or null when every word is known or nothing is close enough
+     */
+    public String correct(String search) {
+        if (!enabled || search == null) {
+            return null;
+        }
+        lock.readLock().lock();
+        try {
+            String[] words = Movie.normalizeTitle(search).split(" ");
+            boolean changed = false;
+            for (int i = 0; i < words.length; i++) {
+                if (words[i].length() < MIN_WORD_LENGTH || titleCountByWord.containsKey(words[i])) {
+                    continue;
+                }
+                String nearest = nearestWord(words[i]);
+                if (nearest != null) {
+                    words[i] = nearest;
+                    changed = true;
+                }
+            }
+            if (changed) {
+                corrections.incrementAndGet();
+            }
+            return changed ? String.join(" ", words) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        lock.readLock().lock();
+        try {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("enabled", enabled);
+            stats.put("words", titleCountByWord.size());
+            stats.put("corrections", corrections.get());
+            return stats;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private String nearestWord(String word) {
+        int maxEdits = word.length() <= 5 ? 1 : 2;
+        Set<String> grams = trigrams(word);
+
+        // Each edit changes at most four trigrams (a swapped pair touches four), so a close word shares the rest
+        Map<String, Integer> sharedByCandidate = new HashMap<>();
+        for (String gram : grams) {
+            for (String candidate : wordsByTrigram.getOrDefault(gram, Set.of())) {
+                sharedByCandidate.merge(candidate, 1, Integer::sum);
+            }
+        }
+        int minShared = Math.max(1, grams.size() - 4 * maxEdits);
+
+        String best = null;
+        int bestDistance = Integer.MAX_VALUE;
+        for (Map.Entry<String, Integer> entry : sharedByCandidate.entrySet()) {
+            String candidate = entry.getKey();
+            if (entry.getValue() < minShared || Math.abs(candidate.length() - word.length()) > maxEdits) {
+                continue;
+            }
+            int distance = editDistance(word, candidate, maxEdits);
+            if (distance > maxEdits) {
+                continue;
+            }
+            // Closest first, then the word in more titles, then alphabetical for a stable answer
+            if (best == null || distance < bestDistance
+                    || (distance == bestDistance && isPreferred(candidate, best))) {
+                best = candidate;
+                bestDistance = distance;
+            }
+        }
+        return best;
+    }
+
+    private boolean isPreferred(String candidate, String current) {
+        int byCount = Integer.compare(titleCountByWord.get(candidate), titleCountByWord.get(current));
+        return byCount > 0 || (byCount == 0 && candidate.compareTo(current) < 0);
+    }
+
+    /**
+     * Optimal string alignment distance (adjacent swaps count as one edit),
+     * giving up once every alignment exceeds the limit
+     */
+    static int editDistance(String a, String b, int limit) {
+        int[] previous2 = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    current[j] = Math.min(current[j], previous2[j - 2] + 1);
+                }
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > limit) {
+                return rowMin;
+            }
+            int[] recycled = previous2;
+            previous2 = previous;
+            previous = current;
+            current = recycled;
+        }
+        return previous[b.length()];
+    }
+
+    private void clearIndex() {
+        titleCountByWord.clear();
+        wordsByTrigram.clear();
+        wordsByImdbId.clear();
+    }
+
+    private void addTitle(String imdbId, String title) {
+        if (title == null) {
+            return;
+        }
+        Set<String> words = new LinkedHashSet<>();
+        for (String word : Movie.normalizeTitle(title).split(" ")) {
+            if (word.length() >= MIN_WORD_LENGTH) {
+                words.add(word);
+            }
+        }
+        for (String word : words) {
+            if (titleCountByWord.merge(word, 1, Integer::sum) == 1) {
+                trigrams(word).forEach(gram -> wordsByTrigram.computeIfAbsent(gram, g -> new HashSet<>()).add(word));
+            }
+        }
+        wordsByImdbId.put(imdbId, words);
+    }
+
+    private void removeTitle(String imdbId) {
+        Set<String> words = wordsByImdbId.remove(imdbId);
+        if (words == null) {
+            return;
+        }
+        for (String word : words) {
+            if (titleCountByWord.merge(word, -1, Integer::sum) <= 0) {
+                titleCountByWord.remove(word);
+                for (String gram : trigrams(word)) {
+                    Set<String> gramWords = wordsByTrigram.get(gram);
+                    if (gramWords != null && gramWords.remove(word) && gramWords.isEmpty()) {
+                        wordsByTrigram.remove(gram);
+                    }
+                }
+            }
+        }
+    }
+
+    private static Set<String> trigrams(String word) {
+        String padded = "$" + word + "$";
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+        return grams;
+    }
+}
@@ -0,0 +1,441 @@
+package com.moengage.movieflix.service;
+
+import com.moengage.movieflix.dto.MovieSearchRequest;
+import com.moengage.movieflix.entity.Movie;
+import com.moengage.movieflix.entity.MovieGenres;
+import com.moengage.movieflix.repository.MovieFacetGroup;
+import com.moengage.movieflix.repository.MovieRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Columnar snapshot of the catalog's filter and sort attributes
+ * Year, rating, runtime, genre mask and cachedAt are kept in primitive arrays
+ * indexed by slot, so listings without a title search are filtered, counted,
+ * faceted and ordered by one scan with a bounded top-k heap instead of SQL.
+ * Only the rows of the returned page are read from the database (or the
+ * per-movie cache). Built at startup and kept current by the ingestion writer
+ * and MovieService; slots of removed movies are reused.
+ *
+ * Ratings are compared as floats, which is exact for IMDb's one-decimal ratings.
+ * Nulls sort as the lowest values, like {@link com.moengage.movieflix.specification.MovieSpecification#orderedBy}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MovieColumnStore implements CommandLineRunner {
+
+    private static final int BUILD_PAGE_SIZE = 500;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private static final int NULL_YEAR = Integer.MIN_VALUE;
+    private static final short NULL_RUNTIME = Short.MIN_VALUE;
+    private static final long NULL_KEY = Long.MIN_VALUE;
+
+    private final MovieRepository movieRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> slotByImdbId = new HashMap<>();
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+    private String[] imdbIds = new String[INITIAL_CAPACITY];
+    private int[] years = new int[INITIAL_CAPACITY];
+    private float[] ratings = new float[INITIAL_CAPACITY];
+    private short[] runtimes = new short[INITIAL_CAPACITY];
+    private long[] genreMasks = new long[INITIAL_CAPACITY];
+    private long[] cachedAtMicros = new long[INITIAL_CAPACITY];
+    private int slots;
+    private volatile boolean ready;
+
+    private final AtomicLong scans = new AtomicLong();
+    private final AtomicLong scanNanos = new AtomicLong();
+
+    @Value("${app.search.columns.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * One page of a scan in sort order, with the number of all matches and,
+     * when asked for, their facet groups
+     */
+    public record ScanResult(List<String> imdbIds, boolean hasNext, long total, List<MovieFacetGroup> facetGroups) {
+    }
+
+    @Override
+    public void run(String... args) {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Rebuild all columns from the database
+     */
+    public void rebuild() {
+        long start = System.nanoTime();
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        lock.writeLock().lock();
+        try {
+            clearColumns();
+            int pageNumber = 0;
+            boolean hasNext = true;
+            while (hasNext) {
+                PageRequest pageRequest = PageRequest.of(pageNumber++, BUILD_PAGE_SIZE, Sort.by("id"));
+                hasNext = Boolean.TRUE.equals(readOnly.execute(status -> {
+                    Page<Movie> page = movieRepository.findAll(pageRequest);
+                    page.forEach(this::put);
+                    return page.hasNext();
+                }));
+            }
+            ready = true;
+            log.info("Built column store: {} movies in {} ms",
+                    slotByImdbId.size(), (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Add movies, replacing the columns of any stored version with the same imdbId
+     */
+    public void index(Collection<Movie> movies) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            movies.forEach(this::put);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Collection<String> imdbIds) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            for (String imdbId : imdbIds) {
+                Integer slot = slotByImdbId.remove(imdbId);
+                if (slot != null) {
+                    this.imdbIds[slot] = null;
+                    freeSlots.push(slot);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            clearColumns();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Filter, count and order the catalog for a request without a title search.
+     * With a cursor the page starts after it and the offset is ignored.
+     * Returns null when the columns cannot answer the request: not built yet,
+     * sorted by title (the database collation decides that order) or filtered
+     * by a genre outside {@link MovieGenres}.
+     */
+    public ScanResult scan(MovieSearchRequest request, String sortField, boolean ascending,
+                           MovieCursor cursor, long offset, int limit, boolean facets) {
+        if (!enabled || !ready || "title".equals(sortField)) {
+            return null;
+        }
+        List<String> genres = request.getGenres() != null ? request.getGenres() : List.of();
+        if (!genres.stream().allMatch(MovieGenres::isKnown)) {
+            return null;
+        }
+
+        long start = System.nanoTime();
+        lock.readLock().lock();
+        try {
+            long genreMask = MovieGenres.maskOf(genres);
+            boolean allGenres = request.matchAllGenres();
+            int minYear = request.getMinYear() != null ? request.getMinYear() : Integer.MIN_VALUE;
+            int maxYear = request.getMaxYear() != null ? request.getMaxYear() : Integer.MAX_VALUE;
+            boolean yearFilter = request.getMinYear() != null || request.getMaxYear() != null;
+            float minRating = request.getMinRating() != null ? request.getMinRating().floatValue() : Float.NaN;
+            boolean ratingFilter = request.getMinRating() != null;
+
+            long skip = cursor != null ? 0 : offset;
+            TopK top = new TopK(sortField, ascending, (int) Math.min(skip + limit + 1, Math.max(slotByImdbId.size(), 1)));
+            long cursorKey = cursor != null ? sortKey(sortField, cursor.value()) : 0L;
+            Map<List<Object>, long[]> groups = facets ? new HashMap<>() : null;
+            long total = 0;
+
+            for (int slot = 0; slot < slots; slot++) {
+                if (imdbIds[slot] == null) {
+                    continue;
+                }
+                if (genreMask != 0 && (allGenres
+                        ? (genreMasks[slot] & genreMask) != genreMask
+                        : (genreMasks[slot] & genreMask) == 0)) {
+                    continue;
+                }
+                if (yearFilter && (years[slot] == NULL_YEAR || years[slot] < minYear || years[slot] > maxYear)) {
+                    continue;
+                }
+                // NaN (no rating) fails the comparison, as NULL does in SQL
+                if (ratingFilter && !(ratings[slot] >= minRating)) {
+                    continue;
+                }
+
+                total++;
+                if (groups != null) {
+                    Integer year = years[slot] != NULL_YEAR ? years[slot] : null;
+                    Integer ratingFloor = Float.isNaN(ratings[slot]) ? null : (int) Math.floor(ratings[slot]);
+                    groups.computeIfAbsent(Arrays.asList(genreMasks[slot], year, ratingFloor), key -> new long[1])[0]++;
+                }
+                if (cursor == null || top.compare(slot, cursorKey, cursor.imdbId()) > 0) {
+                    top.offer(slot);
+                }
+            }
+
+            int[] ordered = top.drain();
+            int from = (int) Math.min(skip, ordered.length);
+            int to = Math.min(from + limit, ordered.length);
+            List<String> page = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                page.add(imdbIds[ordered[i]]);
+            }
+
+            List<MovieFacetGroup> facetGroups = null;
+            if (groups != null) {
+                facetGroups = new ArrayList<>(groups.size());
+                for (Map.Entry<List<Object>, long[]> group : groups.entrySet()) {
+                    List<Object> key = group.getKey();
+                    facetGroups.add(new MovieFacetGroup((Long) key.get(0), (Integer) key.get(1),
+                            (Integer) key.get(2), group.getValue()[0]));
+                }
+            }
+            return new ScanResult(page, ordered.length > to, total, facetGroups);
+        } finally {
+            lock.readLock().unlock();
+            scans.incrementAndGet();
+            scanNanos.addAndGet(System.nanoTime() - start);
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        lock.readLock().lock();
+        try {
+            long scanCount = scans.get();
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("enabled", enabled);
+            stats.put("ready", ready);
+            stats.put("movies", slotByImdbId.size());
+            stats.put("slots", slots);
+            stats.put("scans", scanCount);
+            stats.put("avgScanMicros", scanCount == 0 ? 0 : scanNanos.get() / scanCount / 1000);
+            return stats;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void put(Movie movie) {
+        Integer slot = slotByImdbId.get(movie.getImdbId());
+        if (slot == null) {
+            slot = freeSlots.isEmpty() ? slots++ : freeSlots.pop();
+            ensureCapacity(slots);
+            slotByImdbId.put(movie.getImdbId(), slot);
+        }
+        imdbIds[slot] = movie.getImdbId();
+        years[slot] = movie.getYear() != null ? movie.getYear() : NULL_YEAR;
+        ratings[slot] = movie.getImdbRating() != null ? movie.getImdbRating().floatValue() : Float.NaN;
+        runtimes[slot] = movie.getRuntime() != null
+                ? (short) Math.min(movie.getRuntime(), Short.MAX_VALUE)
+                : NULL_RUNTIME;
+        // The mask is backfilled at startup, so derive it for rows read before that
+        genreMasks[slot] = movie.getGenreMask() != null ? movie.getGenreMask() : MovieGenres.maskOf(movie.getGenre());
+        cachedAtMicros[slot] = cachedAtKey(movie.getCachedAt());
+    }
+
+    private void ensureCapacity(int size) {
+        if (size <= imdbIds.length) {
+            return;
+        }
+        int capacity = Math.max(size, imdbIds.length * 2);
+        imdbIds = Arrays.copyOf(imdbIds, capacity);
+        years = Arrays.copyOf(years, capacity);
+        ratings = Arrays.copyOf(ratings, capacity);
+        runtimes = Arrays.copyOf(runtimes, capacity);
+        genreMasks = Arrays.copyOf(genreMasks, capacity);
+        cachedAtMicros = Arrays.copyOf(cachedAtMicros, capacity);
+    }
+
+    private void clearColumns() {
+        slotByImdbId.clear();
+        freeSlots.clear();
+        Arrays.fill(imdbIds, 0, slots, null);
+        slots = 0;
+    }
+
+    /**
+     * A slot's sort column as an order-preserving long, nulls lowest
+     */
+    private long sortKey(String field, int slot) {
+        return switch (field) {
+            case "year" -> years[slot] != NULL_YEAR ? years[slot] : NULL_KEY;
+            case "imdbRating" -> ratingKey(ratings[slot]);
+            case "runtime" -> runtimes[slot] != NULL_RUNTIME ? runtimes[slot] : NULL_KEY;
+            case "cachedAt" -> cachedAtMicros[slot];
+            default -> throw new IllegalArgumentException("Unsupported sort field: " + field);
+        };
+    }
+
+    /**
+     * A cursor's sort value in the units of {@link #sortKey(String, int)}
+     */
+    private static long sortKey(String field, Object value) {
+        if (value == null) {
+            return NULL_KEY;
+        }
+        return switch (field) {
+            case "year", "runtime" -> ((Number) value).longValue();
+            case "imdbRating" -> ratingKey(((Number) value).floatValue());
+            case "cachedAt" -> cachedAtKey((LocalDateTime) value);
+            default -> throw new IllegalArgumentException("Unsupported sort field: " + field);
+        };
+    }
+
+    private static long ratingKey(float rating) {
+        if (Float.isNaN(rating)) {
+            return NULL_KEY;
+        }
+        // Flip the magnitude bits of negatives so the int bits order like the floats
+        int bits = Float.floatToIntBits(rating);
+        return bits ^ ((bits >> 31) & 0x7fffffff);
+    }
+
+    private static long cachedAtKey(LocalDateTime cachedAt) {
+        if (cachedAt == null) {
+            return NULL_KEY;
+        }
+        // Microseconds, the precision the database keeps
+        return cachedAt.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + cachedAt.getNano() / 1_000;
+    }
+
+    /**
+     * Bounded max-heap of slots keeping the first k in sort order (ties by
+     * imdbId in the same direction); the root is the last of them
+     */
+    private final class TopK {
+        private final String field;
+        private final boolean ascending;
+        private final int[] heap;
+        private int size;
+
+        TopK(String field, boolean ascending, int capacity) {
+            this.field = field;
+            this.ascending = ascending;
+            this.heap = new int[capacity];
+        }
+
+        /**
+         * Sort order of a slot relative to a key and imdbId: negative before, positive after
+         */
+        int compare(int slot, long key, String imdbId) {
+            int order = Long.compare(sortKey(field, slot), key);
+            if (order == 0) {
+                order = imdbIds[slot].compareTo(imdbId);
+            }
+            return ascending ? order : -order;
+        }
+
+        private int compare(int a, int b) {
+            return compare(a, sortKey(field, b), imdbIds[b]);
+        }
+
+        void offer(int slot) {
+            if (size < heap.length) {
+                heap[size] = slot;
+                siftUp(size++);
+            } else if (compare(slot, heap[0]) < 0) {
+                heap[0] = slot;
+                siftDown(0, size);
+            }
+        }
+
+        /**
+         * The kept slots in sort order; empties the heap
+         */
+        int[] drain() {
+            int[] ordered = new int[size];
+            for (int end = size - 1; end >= 0; end--) {
+                ordered[end] = heap[0];
+                heap[0] = heap[end];
+                siftDown(0, end);
+            }
+            size = 0;
+            return ordered;
+        }
+
+        private void siftUp(int index) {
+            int slot = heap[index];
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (compare(slot, heap[parent]) <= 0) {
+                    break;
+                }
+                heap[index] = heap[parent];
+                index = parent;
+            }
+            heap[index] = slot;
+        }
+
+        private void siftDown(int index, int length) {
+            int slot = heap[index];
+            while (true) {
+                int child = 2 * index + 1;
+                if (child >= length) {
+                    break;
+                }
+                if (child + 1 < length && compare(heap[child + 1], heap[child]) > 0) {
+                    child++;
+                }
+                if (compare(slot, heap[child]) >= 0) {
+                    break;
+                }
+                heap[index] = heap[child];
+                index = child;
+            }
+            heap[index] = slot;
+        }
+    }
+}
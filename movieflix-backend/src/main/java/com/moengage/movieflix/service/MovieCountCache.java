@@ -0,0 +1,100 @@
+package com.moengage.movieflix.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.moengage.movieflix.dto.MovieFacets;
+import com.moengage.movieflix.dto.MovieSearchRequest;
+import com.moengage.movieflix.entity.Movie;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Short-lived totals and facet counts for movie listings, keyed by filter
+ * Paging through one result set reuses them instead of re-counting the
+ * table on every page; both may lag new movies by up to the TTL
+ */
+@Component
+public class MovieCountCache {
+
+    private final Cache<String, Long> cache;
+    private final Cache<String, MovieFacets> facetCache;
+
+    public MovieCountCache(
+            @Value("${app.search.count-cache.max-size:1000}") long maxSize,
+            @Value("${app.search.count-cache.ttl-seconds:30}") long ttlSeconds
+    ) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        this.facetCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    public long count(MovieSearchRequest request, Supplier<Long> counter) {
+        return cache.get(filterKey(request), key -> counter.get());
+    }
+
+    public MovieFacets facets(MovieSearchRequest request, Supplier<MovieFacets> counter) {
+        return facetCache.get(filterKey(request), key -> counter.get());
+    }
+
+    public void invalidate(MovieSearchRequest request) {
+        String key = filterKey(request);
+        cache.invalidate(key);
+        facetCache.invalidate(key);
+    }
+
+    public void clear() {
+        cache.invalidateAll();
+        facetCache.invalidateAll();
+    }
+
+    public Map<String, Object> getStats() {
+        CacheStats stats = cache.stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("size", cache.estimatedSize());
+        result.put("hits", stats.hitCount());
+        result.put("misses", stats.missCount());
+        CacheStats facetStats = facetCache.stats();
+        result.put("facetSize", facetCache.estimatedSize());
+        result.put("facetHits", facetStats.hitCount());
+        result.put("facetMisses", facetStats.missCount());
+        return result;
+    }
+
+    /**
+     * Canonical form of the filters: normalized search, sorted genres, bounds.
+     * Only the filters decide the total; sort, page, size and cursor do not.
+     * Free-text parts are length-prefixed so no two filter sets share a key.
+     */
+    static String filterKey(MovieSearchRequest request) {
+        String search = request.getSearch() != null ? Movie.normalizeTitle(request.getSearch()) : "";
+        List<String> genres = request.getGenres() != null
+                ? request.getGenres().stream().sorted().distinct().toList()
+                : List.of();
+        StringBuilder key = new StringBuilder();
+        appendPart(key, search);
+        genres.forEach(genre -> appendPart(key, genre));
+        return key.append(genres.size() > 1 && request.matchAllGenres() ? "all" : "any")
+                .append('|').append(request.getMinYear())
+                .append('|').append(request.getMaxYear())
+                .append('|').append(request.getMinRating())
+                .toString();
+    }
+
+    private static void appendPart(StringBuilder key, String value) {
+        key.append(value.length()).append(':').append(value).append('|');
+    }
+}
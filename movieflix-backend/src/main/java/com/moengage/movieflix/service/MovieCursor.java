@@ -0,0 +1,81 @@
+package com.moengage.movieflix.service;
+
+import com.moengage.movieflix.dto.MovieResponse;
+import com.moengage.movieflix.entity.Movie;
+import com.moengage.movieflix.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset pagination cursor: the sort key of the last movie on a page plus
+ * its imdbId as tie-breaker. Clients receive it as an opaque URL-safe string.
+ */
+public record MovieCursor(String field, boolean ascending, Object value, String imdbId) {
+
+    private static final String VERSION = "v1";
+
+    public static MovieCursor after(Movie movie, String field, boolean ascending) {
+        return new MovieCursor(field, ascending, sortValue(movie, field), movie.getImdbId());
+    }
+
+    public static MovieCursor after(MovieResponse movie, String field, boolean ascending) {
+        Object value = switch (field) {
+            case "imdbRating" -> movie.getImdbRating();
+            case "year" -> movie.getYear();
+            case "title" -> movie.getTitle();
+            case "runtime" -> movie.getRuntime();
+            case "cachedAt" -> movie.getCachedAt();
+            default -> throw new IllegalArgumentException("Unsupported sort field: " + field);
+        };
+        return new MovieCursor(field, ascending, value, movie.getImdbId());
+    }
+
+    public static Object sortValue(Movie movie, String field) {
+        return switch (field) {
+            case "imdbRating" -> movie.getImdbRating();
+            case "year" -> movie.getYear();
+            case "title" -> movie.getTitle();
+            case "runtime" -> movie.getRuntime();
+            case "cachedAt" -> movie.getCachedAt();
+            default -> throw new IllegalArgumentException("Unsupported sort field: " + field);
+        };
+    }
+
+    public String encode() {
+        // The value goes last so it may contain the separator; a missing '=' marks a null value
+        String raw = String.join("\n", VERSION, field, ascending ? "asc" : "desc", imdbId,
+                value == null ? "" : "=" + value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static MovieCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\n", 5);
+            if (parts.length != 5 || !VERSION.equals(parts[0])) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            String field = parts[1];
+            String rawValue = parts[4].startsWith("=") ? parts[4].substring(1) : null;
+            return new MovieCursor(field, "asc".equals(parts[2]), parseValue(field, rawValue), parts[3]);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    private static Object parseValue(String field, String rawValue) {
+        if (rawValue == null) {
+            return null;
+        }
+        return switch (field) {
+            case "imdbRating" -> Double.valueOf(rawValue);
+            case "year", "runtime" -> Integer.valueOf(rawValue);
+            case "title" -> rawValue;
+            case "cachedAt" -> LocalDateTime.parse(rawValue);
+            default -> throw new IllegalArgumentException("Unsupported sort field: " + field);
+        };
+    }
+}
@@ -0,0 +1,99 @@
+package com.moengage.movieflix.service;
+
+import com.moengage.movieflix.entity.Movie;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Applies movie writes to the in-memory search structures and search caches.
+ * Inside a transaction the update runs once it commits, so a rollback leaves
+ * the indexes matching the database; outside one it runs right away.
+ */
+@Component
+@RequiredArgsConstructor
+public class MovieIndexUpdater {
+
+    private final MovieSearchIndex movieSearchIndex;
+    private final MovieSuggestIndex movieSuggestIndex;
+    private final MovieColumnStore movieColumnStore;
+    private final FuzzyTitleMatcher fuzzyTitleMatcher;
+    private final MovieCountCache movieCountCache;
+    private final MovieSearchIdCache movieSearchIdCache;
+    private final CacheManager cacheManager;
+
+    /**
+     * Movies inserted or changed
+     */
+    public void stored(Collection<Movie> movies) {
+        List<Movie> changed = List.copyOf(movies);
+        // Indexed after the commit, when the session may no longer load them
+        changed.forEach(movie -> {
+            Hibernate.initialize(movie.getActors());
+            Hibernate.initialize(movie.getGenre());
+        });
+        afterCommit(() -> {
+            movieSearchIndex.index(changed);
+            movieSuggestIndex.index(changed);
+            movieColumnStore.index(changed);
+            fuzzyTitleMatcher.index(changed);
+            searchesChanged(changed.stream().map(Movie::getImdbId).toList());
+        });
+    }
+
+    public void removed(Collection<String> imdbIds) {
+        List<String> removed = List.copyOf(imdbIds);
+        afterCommit(() -> {
+            movieSearchIndex.remove(removed);
+            movieSuggestIndex.remove(removed);
+            movieColumnStore.remove(removed);
+            fuzzyTitleMatcher.remove(removed);
+            searchesChanged(removed);
+        });
+    }
+
+    public void cleared() {
+        afterCommit(() -> {
+            movieSearchIndex.clear();
+            movieSuggestIndex.clear();
+            movieColumnStore.clear();
+            fuzzyTitleMatcher.clear();
+            movieCountCache.clear();
+            movieSearchIdCache.clear();
+            Cache movieCache = cacheManager.getCache("movies");
+            if (movieCache != null) {
+                movieCache.clear();
+            }
+        });
+    }
+
+    // Changed rows may enter or leave any cached search, and must not be served from their old copy
+    private void searchesChanged(List<String> imdbIds) {
+        movieCountCache.clear();
+        movieSearchIdCache.clear();
+        Cache movieCache = cacheManager.getCache("movies");
+        if (movieCache != null) {
+            imdbIds.forEach(movieCache::evict);
+        }
+    }
+
+    private void afterCommit(Runnable update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                update.run();
+            }
+        });
+    }
+}
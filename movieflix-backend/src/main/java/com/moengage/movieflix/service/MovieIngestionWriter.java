@@ -0,0 +1,235 @@
+package com.moengage.movieflix.service;
+
+import com.moengage.movieflix.entity.Movie;
+import com.moengage.movieflix.repository.MovieRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Writes ingested movies in JDBC batches
+ * Movies are upserted on imdbId: new ones are inserted, cached ones are
+ * refreshed in place, so concurrent ingests of the same title do not fail
+ * on the unique constraint. On PostgreSQL new movies are inserted with ON
+ * CONFLICT DO NOTHING and only the ones that lose a race are refreshed;
+ * elsewhere a conflicting chunk is retried. Each chunk is written in its own
+ * transaction.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MovieIngestionWriter {
+
+    private final MovieRepository movieRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final MovieIndexUpdater movieIndexUpdater;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Every movies column but the collections, in the order insertIgnoringConflicts binds them
+    private static final List<String> INSERT_COLUMNS = List.of("id", "imdb_id", "title", "normalized_title",
+            "release_year", "plot", "director", "genre_mask", "rated", "runtime", "language", "country", "awards",
+            "poster", "imdb_rating", "imdb_votes", "type", "dvd", "box_office", "production", "website", "cached_at");
+
+    @Value("${app.ingest.batch-size:100}")
+    private int batchSize;
+
+    /**
+     * Insert or refresh the given movies, matched on imdbId
+     * @return the stored movies, detached
+     */
+    public List<Movie> upsert(Collection<Movie> movies) {
+        // Last one wins when the same imdbId appears twice
+        Map<String, Movie> byImdbId = new LinkedHashMap<>();
+        movies.forEach(movie -> byImdbId.put(movie.getImdbId(), movie));
+        List<Movie> unique = new ArrayList<>(byImdbId.values());
+
+        List<Movie> written = new ArrayList<>(unique.size());
+        for (int from = 0; from < unique.size(); from += batchSize) {
+            written.addAll(writeChunk(unique.subList(from, Math.min(from + batchSize, unique.size()))));
+        }
+        return written;
+    }
+
+    private List<Movie> writeChunk(List<Movie> chunk) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        boolean insertIgnoringConflicts = isPostgres();
+        // Without ON CONFLICT another ingest may insert some of these imdbIds first; each retry
+        // re-reads them and refreshes them instead. Every conflicting attempt turns at least one
+        // insert into an update, so a chunk settles within chunk.size() retries unless the
+        // violation is not a concurrent insert.
+        List<Movie> stored = null;
+        for (int attempt = 0; stored == null; attempt++) {
+            try {
+                stored = transactionTemplate.execute(status -> {
+                    List<Movie> written = upsertChunk(chunk, insertIgnoringConflicts);
+                    // Registered on this chunk's transaction, so it runs when the chunk commits
+                    movieIndexUpdater.stored(written);
+                    return written;
+                });
+            } catch (DataIntegrityViolationException e) {
+                if (insertIgnoringConflicts || attempt >= chunk.size()) {
+                    throw e;
+                }
+                log.info("Movies were cached concurrently, retrying {} as updates", chunk.size());
+            }
+        }
+        return stored;
+    }
+
+    private List<Movie> upsertChunk(List<Movie> chunk, boolean insertIgnoringConflicts) {
+        List<String> imdbIds = chunk.stream().map(Movie::getImdbId).toList();
+        Map<String, Movie> stored = movieRepository.findByImdbIdIn(imdbIds).stream()
+                .collect(Collectors.toMap(Movie::getImdbId, Function.identity()));
+
+        List<Movie> inserts = new ArrayList<>();
+        for (Movie movie : chunk) {
+            Movie current = stored.get(movie.getImdbId());
+            if (current != null) {
+                copyDetails(movie, current);
+            } else {
+                // Fresh collections, in case a failed attempt bound them to its session
+                movie.setId(null);
+                movie.setActors(copyOf(movie.getActors()));
+                movie.setGenre(copyOf(movie.getGenre()));
+                inserts.add(movie);
+            }
+        }
+
+        if (insertIgnoringConflicts) {
+            Set<String> inserted = insertIgnoringConflicts(inserts);
+            Map<String, Movie> insertedMeanwhile = new HashMap<>();
+            for (Movie movie : inserts) {
+                if (inserted.contains(movie.getImdbId())) {
+                    stored.put(movie.getImdbId(), movie);
+                } else {
+                    insertedMeanwhile.put(movie.getImdbId(), movie);
+                }
+            }
+            // Only the movies another ingest inserted since the read above are refreshed as updates
+            if (!insertedMeanwhile.isEmpty()) {
+                for (Movie current : movieRepository.findByImdbIdIn(insertedMeanwhile.keySet())) {
+                    copyDetails(insertedMeanwhile.get(current.getImdbId()), current);
+                    stored.put(current.getImdbId(), current);
+                }
+            }
+        } else {
+            for (Movie movie : inserts) {
+                stored.put(movie.getImdbId(), movieRepository.save(movie));
+            }
+        }
+        // Flushing through the repository translates unique-key violations to DataIntegrityViolationException
+        movieRepository.flush();
+        entityManager.clear();
+        return chunk.stream().map(movie -> stored.get(movie.getImdbId())).toList();
+    }
+
+    /**
+     * Insert the movies in one statement, skipping those whose imdbId another
+     * transaction stored meanwhile (PostgreSQL ON CONFLICT), with their actors
+     * and genres. Ids come from the entity's own generator, so they never
+     * overlap the blocks Hibernate hands out.
+     * @return the imdbIds actually inserted
+     */
+    private Set<String> insertIgnoringConflicts(List<Movie> movies) {
+        if (movies.isEmpty()) {
+            return Set.of();
+        }
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        BeforeExecutionGenerator idGenerator = (BeforeExecutionGenerator) session.getFactory()
+                .getMappingMetamodel().getEntityDescriptor(Movie.class).getGenerator();
+
+        List<Object> args = new ArrayList<>(movies.size() * INSERT_COLUMNS.size());
+        for (Movie movie : movies) {
+            movie.setId((Long) idGenerator.generate(session, movie, null, EventType.INSERT));
+            movie.setNormalizedTitle(Movie.normalizeTitle(movie.getTitle()));
+            movie.setCachedAt(Movie.now());
+            args.addAll(Arrays.asList(movie.getId(), movie.getImdbId(), movie.getTitle(), movie.getNormalizedTitle(),
+                    movie.getYear(), movie.getPlot(), movie.getDirector(), movie.getGenreMask(), movie.getRated(),
+                    movie.getRuntime(), movie.getLanguage(), movie.getCountry(), movie.getAwards(), movie.getPoster(),
+                    movie.getImdbRating(), movie.getImdbVotes(), movie.getType(), movie.getDvd(),
+                    movie.getBoxOffice(), movie.getProduction(), movie.getWebsite(), movie.getCachedAt()));
+        }
+        String row = "(" + String.join(", ", Collections.nCopies(INSERT_COLUMNS.size(), "?")) + ")";
+        String sql = "INSERT INTO movies (" + String.join(", ", INSERT_COLUMNS) + ") VALUES "
+                + String.join(", ", Collections.nCopies(movies.size(), row))
+                + " ON CONFLICT (imdb_id) DO NOTHING RETURNING imdb_id";
+        Set<String> inserted = new HashSet<>(jdbcTemplate.queryForList(sql, String.class, args.toArray()));
+
+        List<Object[]> actors = new ArrayList<>();
+        List<Object[]> genres = new ArrayList<>();
+        for (Movie movie : movies) {
+            if (inserted.contains(movie.getImdbId())) {
+                movie.getActors().forEach(actor -> actors.add(new Object[]{movie.getId(), actor}));
+                movie.getGenre().forEach(genre -> genres.add(new Object[]{movie.getId(), genre}));
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO movie_actors (movie_id, actor) VALUES (?, ?)", actors);
+        jdbcTemplate.batchUpdate("INSERT INTO movie_genres (movie_id, genre) VALUES (?, ?)", genres);
+        return inserted;
+    }
+
+    private boolean isPostgres() {
+        return entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof PostgreSQLDialect;
+    }
+
+    private void copyDetails(Movie source, Movie target) {
+        target.setTitle(source.getTitle());
+        target.setYear(source.getYear());
+        target.setPlot(source.getPlot());
+        target.setDirector(source.getDirector());
+        target.setActors(copyOf(source.getActors()));
+        target.setGenre(copyOf(source.getGenre()));
+        target.setRated(source.getRated());
+        target.setRuntime(source.getRuntime());
+        target.setLanguage(source.getLanguage());
+        target.setCountry(source.getCountry());
+        target.setAwards(source.getAwards());
+        target.setPoster(source.getPoster());
+        target.setImdbRating(source.getImdbRating());
+        target.setImdbVotes(source.getImdbVotes());
+        target.setType(source.getType());
+        target.setDvd(source.getDvd());
+        target.setBoxOffice(source.getBoxOffice());
+        target.setProduction(source.getProduction());
+        target.setWebsite(source.getWebsite());
+        // Marks the row refreshed even when OMDb returned identical details
+        target.setCachedAt(Movie.now());
+    }
+
+    private List<String> copyOf(List<String> values) {
+        return values != null ? new ArrayList<>(values) : new ArrayList<>();
+    }
+}
@@ -0,0 +1,97 @@
+package com.moengage.movieflix.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.moengage.movieflix.dto.MovieSearchRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ordered imdbIds of a search, keyed by its canonical filters and sort
+ * Every page of a search is sliced from one cached list, so paging a hot
+ * search runs no search SQL. Searches with more matches than fit are only
+ * marked as such and keep paging through SQL.
+ */
+@Component
+public class MovieSearchIdCache {
+
+    private final Cache<String, SearchIds> cache;
+    private final int maxIdsPerSearch;
+    // Bumped by clear(); a list read before a clear must not be stored after it
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * @param imdbIds         matches in sort order, or null when there were too many to keep
+     * @param correctedSearch spelling the search was answered with, if it was corrected
+     */
+    public record SearchIds(List<String> imdbIds, String correctedSearch) {
+    }
+
+    public MovieSearchIdCache(
+            @Value("${app.search.id-cache.max-ids-per-search:2000}") int maxIdsPerSearch,
+            @Value("${app.search.id-cache.max-total-ids:200000}") long maxTotalIds,
+            @Value("${app.search.id-cache.ttl-seconds:600}") long ttlSeconds
+    ) {
+        this.maxIdsPerSearch = maxIdsPerSearch;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxTotalIds)
+                .weigher((String key, SearchIds ids) -> ids.imdbIds() != null ? ids.imdbIds().size() + 1 : 1)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    public static String key(MovieSearchRequest request, String sortField, boolean ascending) {
+        return MovieCountCache.filterKey(request) + "|" + sortField + "|" + (ascending ? "asc" : "desc");
+    }
+
+    /**
+     * Largest id list kept; query one more to tell whether a search fits
+     */
+    public int getMaxIdsPerSearch() {
+        return maxIdsPerSearch;
+    }
+
+    public SearchIds get(String key) {
+        return cache.getIfPresent(key);
+    }
+
+    /**
+     * Stamp to take before reading the ids of a search, for {@link #put}
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Keeps the ids unless the cache was cleared since the given generation:
+     * movies were written meanwhile, so the list may already be stale
+     */
+    public SearchIds put(String key, long readGeneration, List<String> imdbIds, String correctedSearch) {
+        SearchIds ids = new SearchIds(imdbIds.size() > maxIdsPerSearch ? null : List.copyOf(imdbIds), correctedSearch);
+        cache.asMap().compute(key, (k, current) -> generation.get() == readGeneration ? ids : current);
+        return ids;
+    }
+
+    public void clear() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    public Map<String, Object> getStats() {
+        CacheStats stats = cache.stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("searches", cache.estimatedSize());
+        result.put("hits", stats.hitCount());
+        result.put("misses", stats.missCount());
+        result.put("maxIdsPerSearch", maxIdsPerSearch);
+        return result;
+    }
+}
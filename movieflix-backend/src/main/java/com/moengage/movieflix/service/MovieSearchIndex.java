@@ -0,0 +1,470 @@
+package com.moengage.movieflix.service;
+
+import com.moengage.movieflix.dto.MovieSearchRequest;
+import com.moengage.movieflix.entity.Movie;
+import com.moengage.movieflix.entity.MovieGenres;
+import com.moengage.movieflix.repository.MovieFacetGroup;
+import com.moengage.movieflix.repository.MovieRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over the cached catalog
+ * Indexes title, director, actors and plot tokens and ranks matches with
+ * BM25. Built from the database at startup and kept current by the
+ * ingestion writer and MovieService, so ranked searches never touch the DB.
+ *
+ * Postings are delta + varint encoded per term. Removed or replaced movies
+ * are tombstoned and dropped when the index compacts.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MovieSearchIndex implements CommandLineRunner {
+
+    // BM25 parameters and per-field term weights (title matches count most)
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int TITLE_WEIGHT = 3;
+    private static final int DIRECTOR_WEIGHT = 2;
+    private static final int ACTOR_WEIGHT = 2;
+    private static final int PLOT_WEIGHT = 1;
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int BUILD_PAGE_SIZE = 500;
+
+    private final MovieRepository movieRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<String, Integer> docIdByImdbId = new HashMap<>();
+    private final List<IndexedMovie> docs = new ArrayList<>();
+    private final BitSet deleted = new BitSet();
+    private long totalLength;
+    private volatile boolean ready;
+
+    private final AtomicLong searches = new AtomicLong();
+    private final AtomicLong searchNanos = new AtomicLong();
+
+    @Value("${app.search.index.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.search.index.compact-ratio:0.25}")
+    private double compactRatio;
+
+    /**
+     * Attributes kept per movie for filtering and sorting without the database
+     */
+    // terms lets a removal take the movie out of each term's live document frequency
+    private record IndexedMovie(String imdbId, String sortTitle, Integer year, Double rating,
+                                Integer runtime, Set<String> genres, int length, String[] terms) {
+    }
+
+    public record Hit(String imdbId, double score) {
+    }
+
+    @Override
+    public void run(String... args) {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Rebuild the whole index from the database
+     */
+    public void rebuild() {
+        long start = System.nanoTime();
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        lock.writeLock().lock();
+        try {
+            clearIndex();
+            int pageNumber = 0;
+            boolean hasNext = true;
+            while (hasNext) {
+                PageRequest pageRequest = PageRequest.of(pageNumber++, BUILD_PAGE_SIZE, Sort.by("id"));
+                hasNext = Boolean.TRUE.equals(readOnly.execute(status -> {
+                    Page<Movie> page = movieRepository.findAll(pageRequest);
+                    page.forEach(this::addDocument);
+                    return page.hasNext();
+                }));
+            }
+            ready = true;
+            log.info("Built search index: {} movies, {} terms in {} ms",
+                    docIdByImdbId.size(), postings.size(), (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Add movies, replacing any indexed version with the same imdbId
+     */
+    public void index(Collection<Movie> movies) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            for (Movie movie : movies) {
+                removeDocument(movie.getImdbId());
+                addDocument(movie);
+            }
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Collection<String> imdbIds) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            imdbIds.forEach(this::removeDocument);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            clearIndex();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ranked search: every movie matching at least one query term that passes
+     * the request filters, ordered by the requested sort or by BM25 score
+     */
+    public List<Hit> search(String query, MovieSearchRequest filters) {
+        long start = System.nanoTime();
+        lock.readLock().lock();
+        try {
+            Set<String> terms = new LinkedHashSet<>(tokenize(query));
+            int liveDocs = docIdByImdbId.size();
+            if (terms.isEmpty() || liveDocs == 0) {
+                return List.of();
+            }
+
+            double avgLength = (double) totalLength / liveDocs;
+            float[] scores = new float[docs.size()];
+            BitSet matched = new BitSet(docs.size());
+
+            for (String term : terms) {
+                Postings termPostings = postings.get(term);
+                if (termPostings == null) {
+                    continue;
+                }
+                // Tombstoned postings are still stored but no longer count towards the frequency
+                int df = termPostings.liveCount;
+                double idf = Math.log(1 + (liveDocs - df + 0.5) / (df + 0.5));
+                termPostings.forEach((docId, tf) -> {
+                    if (deleted.get(docId)) {
+                        return;
+                    }
+                    int length = docs.get(docId).length();
+                    double norm = tf + K1 * (1 - B + B * length / avgLength);
+                    scores[docId] += (float) (idf * tf * (K1 + 1) / norm);
+                    matched.set(docId);
+                });
+            }
+
+            List<Hit> hits = new ArrayList<>(matched.cardinality());
+            List<IndexedMovie> hitDocs = new ArrayList<>(matched.cardinality());
+            for (int docId = matched.nextSetBit(0); docId >= 0; docId = matched.nextSetBit(docId + 1)) {
+                IndexedMovie doc = docs.get(docId);
+                if (passesFilters(doc, filters)) {
+                    hits.add(new Hit(doc.imdbId(), scores[docId]));
+                    hitDocs.add(doc);
+                }
+            }
+            return sortHits(hits, hitDocs, filters);
+        } finally {
+            lock.readLock().unlock();
+            searches.incrementAndGet();
+            searchNanos.addAndGet(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Facet input for search hits, one group per hit, read from the indexed attributes
+     */
+    public List<MovieFacetGroup> facetGroups(List<Hit> hits) {
+        lock.readLock().lock();
+        try {
+            List<MovieFacetGroup> groups = new ArrayList<>(hits.size());
+            for (Hit hit : hits) {
+                Integer docId = docIdByImdbId.get(hit.imdbId());
+                if (docId == null) {
+                    continue;
+                }
+                IndexedMovie doc = docs.get(docId);
+                Integer ratingFloor = doc.rating() != null ? (int) Math.floor(doc.rating()) : null;
+                groups.add(new MovieFacetGroup(MovieGenres.maskOf(doc.genres()), doc.year(), ratingFloor, 1));
+            }
+            return groups;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        lock.readLock().lock();
+        try {
+            long postingsBytes = postings.values().stream().mapToLong(p -> p.size).sum();
+            long searchCount = searches.get();
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("enabled", enabled);
+            stats.put("ready", ready);
+            stats.put("movies", docIdByImdbId.size());
+            stats.put("tombstones", deleted.cardinality());
+            stats.put("terms", postings.size());
+            stats.put("postingsBytes", postingsBytes);
+            stats.put("searches", searchCount);
+            stats.put("avgSearchMicros", searchCount == 0 ? 0 : searchNanos.get() / searchCount / 1000);
+            return stats;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(TOKEN_SEPARATOR.split(Movie.normalizeTitle(text)))
+                .filter(token -> !token.isEmpty())
+                .toList();
+    }
+
+    private void addDocument(Movie movie) {
+        int docId = docs.size();
+        Map<String, Integer> termFrequencies = new HashMap<>();
+        addTokens(termFrequencies, movie.getTitle(), TITLE_WEIGHT);
+        addTokens(termFrequencies, movie.getDirector(), DIRECTOR_WEIGHT);
+        if (movie.getActors() != null) {
+            movie.getActors().forEach(actor -> addTokens(termFrequencies, actor, ACTOR_WEIGHT));
+        }
+        addTokens(termFrequencies, movie.getPlot(), PLOT_WEIGHT);
+
+        int length = termFrequencies.values().stream().mapToInt(Integer::intValue).sum();
+        termFrequencies.forEach((term, tf) -> postings.computeIfAbsent(term, t -> new Postings()).add(docId, tf));
+
+        Set<String> genres = movie.getGenre() != null ? Set.copyOf(movie.getGenre()) : Set.of();
+        docs.add(new IndexedMovie(movie.getImdbId(), Movie.normalizeTitle(movie.getTitle()), movie.getYear(),
+                movie.getImdbRating(), movie.getRuntime(), genres, length,
+                termFrequencies.keySet().toArray(String[]::new)));
+        docIdByImdbId.put(movie.getImdbId(), docId);
+        totalLength += length;
+    }
+
+    private void addTokens(Map<String, Integer> termFrequencies, String text, int weight) {
+        for (String token : tokenize(text)) {
+            termFrequencies.merge(token, weight, Integer::sum);
+        }
+    }
+
+    private void removeDocument(String imdbId) {
+        Integer docId = docIdByImdbId.remove(imdbId);
+        if (docId != null) {
+            deleted.set(docId);
+            IndexedMovie doc = docs.get(docId);
+            totalLength -= doc.length();
+            for (String term : doc.terms()) {
+                postings.get(term).liveCount--;
+            }
+        }
+    }
+
+    private void clearIndex() {
+        postings.clear();
+        docIdByImdbId.clear();
+        docs.clear();
+        deleted.clear();
+        totalLength = 0;
+    }
+
+    /**
+     * Drop tombstoned movies once they make up too much of the index.
+     * Doc ids are renumbered in order, so postings stay sorted and delta-encodable.
+     */
+    private void compactIfNeeded() {
+        int tombstones = deleted.cardinality();
+        if (tombstones == 0 || tombstones < docs.size() * compactRatio) {
+            return;
+        }
+
+        int[] newDocIds = new int[docs.size()];
+        List<IndexedMovie> liveDocs = new ArrayList<>(docs.size() - tombstones);
+        for (int docId = 0; docId < docs.size(); docId++) {
+            if (deleted.get(docId)) {
+                newDocIds[docId] = -1;
+            } else {
+                newDocIds[docId] = liveDocs.size();
+                liveDocs.add(docs.get(docId));
+            }
+        }
+
+        postings.replaceAll((term, termPostings) -> termPostings.remap(newDocIds));
+        postings.values().removeIf(termPostings -> termPostings.count == 0);
+        docs.clear();
+        docs.addAll(liveDocs);
+        deleted.clear();
+        docIdByImdbId.clear();
+        for (int docId = 0; docId < docs.size(); docId++) {
+            docIdByImdbId.put(docs.get(docId).imdbId(), docId);
+        }
+        log.debug("Compacted search index, dropped {} removed movies", tombstones);
+    }
+
+    private boolean passesFilters(IndexedMovie doc, MovieSearchRequest filters) {
+        if (filters.getMinYear() != null && (doc.year() == null || doc.year() < filters.getMinYear())) {
+            return false;
+        }
+        if (filters.getMaxYear() != null && (doc.year() == null || doc.year() > filters.getMaxYear())) {
+            return false;
+        }
+        if (filters.getMinRating() != null && (doc.rating() == null || doc.rating() < filters.getMinRating())) {
+            return false;
+        }
+        if (filters.getGenres() != null && !filters.getGenres().isEmpty()) {
+            return filters.matchAllGenres()
+                    ? doc.genres().containsAll(filters.getGenres())
+                    : filters.getGenres().stream().anyMatch(doc.genres()::contains);
+        }
+        return true;
+    }
+
+    private List<Hit> sortHits(List<Hit> hits, List<IndexedMovie> hitDocs, MovieSearchRequest filters) {
+        Comparator<Integer> byScore = Comparator.comparingDouble(i -> -hits.get(i).score());
+        Comparator<Integer> order = byScore;
+
+        String sort = filters.getSort() != null ? filters.getSort().toLowerCase(Locale.ROOT) : "";
+        Comparator<Integer> byField = switch (sort) {
+            case "rating" -> Comparator.comparing(i -> hitDocs.get(i).rating(), Comparator.nullsFirst(Comparator.naturalOrder()));
+            case "year" -> Comparator.comparing(i -> hitDocs.get(i).year(), Comparator.nullsFirst(Comparator.naturalOrder()));
+            case "title" -> Comparator.comparing(i -> hitDocs.get(i).sortTitle(), Comparator.nullsFirst(Comparator.naturalOrder()));
+            case "runtime" -> Comparator.comparing(i -> hitDocs.get(i).runtime(), Comparator.nullsFirst(Comparator.naturalOrder()));
+            default -> null;
+        };
+        if (byField != null) {
+            if (!"asc".equalsIgnoreCase(filters.getOrder())) {
+                byField = byField.reversed();
+            }
+            order = byField.thenComparing(byScore);
+        }
+
+        List<Integer> positions = new ArrayList<>(hits.size());
+        for (int i = 0; i < hits.size(); i++) {
+            positions.add(i);
+        }
+        positions.sort(order);
+        return positions.stream().map(hits::get).toList();
+    }
+
+    /**
+     * Postings for one term: (docId delta, term frequency) pairs as varints,
+     * appended in increasing docId order
+     */
+    private static final class Postings {
+        private byte[] data = new byte[8];
+        private int size;
+        private int count;
+        private int liveCount;
+        private int lastDocId;
+
+        interface Visitor {
+            void accept(int docId, int tf);
+        }
+
+        void add(int docId, int tf) {
+            writeVarint(docId - lastDocId);
+            writeVarint(tf);
+            lastDocId = docId;
+            count++;
+            liveCount++;
+        }
+
+        void forEach(Visitor visitor) {
+            int position = 0;
+            int docId = 0;
+            while (position < size) {
+                int delta = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = data[position++];
+                    delta |= (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+                int tf = 0;
+                shift = 0;
+                do {
+                    b = data[position++];
+                    tf |= (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+                docId += delta;
+                visitor.accept(docId, tf);
+            }
+        }
+
+        Postings remap(int[] newDocIds) {
+            Postings remapped = new Postings();
+            forEach((docId, tf) -> {
+                if (newDocIds[docId] >= 0) {
+                    remapped.add(newDocIds[docId], tf);
+                }
+            });
+            return remapped;
+        }
+
+        private void writeVarint(int value) {
+            if (size + 5 > data.length) {
+                data = Arrays.copyOf(data, Math.max(data.length * 2, size + 5));
+            }
+            while ((value & ~0x7F) != 0) {
+                data[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            data[size++] = (byte) value;
+        }
+    }
+}
@@ -6,25 +6,37 @@ import com.moengage.movieflix.dto.omdb.OmdbSearchResponse;
 import com.moengage.movieflix.dto.omdb.OmdbSearchResult;
 import com.moengage.movieflix.entity.Movie;
 import com.moengage.movieflix.entity.BlacklistedMovie;
+import com.moengage.movieflix.entity.SearchQueryResult;
 import com.moengage.movieflix.exception.BadRequestException;
+import com.moengage.movieflix.exception.ExternalApiException;
+import com.moengage.movieflix.exception.OmdbQuotaExceededException;
 import com.moengage.movieflix.exception.ResourceNotFoundException;
 import com.moengage.movieflix.repository.MovieRepository;
 import com.moengage.movieflix.repository.BlacklistedMovieRepository;
+import com.moengage.movieflix.repository.SearchQueryResultRepository;
+import com.moengage.movieflix.service.OmdbQuotaGovernor.Priority;
 import com.moengage.movieflix.specification.MovieSpecification;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -34,17 +46,311 @@ public class MovieService {
 
     private final MovieRepository movieRepository;
     private final BlacklistedMovieRepository blacklistedMovieRepository;
+    private final SearchQueryResultRepository searchQueryResultRepository;
     private final OmdbApiService omdbApiService;
+    private final MovieIngestionWriter movieIngestionWriter;
+    private final MovieSearchIndex movieSearchIndex;
+    private final MovieSuggestIndex movieSuggestIndex;
+    private final MovieColumnStore movieColumnStore;
+    private final FuzzyTitleMatcher fuzzyTitleMatcher;
+    private final MovieCountCache movieCountCache;
+    private final MovieSearchIdCache movieSearchIdCache;
+    private final MovieIndexUpdater movieIndexUpdater;
+    private final RequestCoalescer requestCoalescer;
+    private final PlatformTransactionManager transactionManager;
+    private final ThreadPoolTaskExecutor searchRefreshExecutor;
+    private final CacheManager cacheManager;
 
-    @Cacheable(value = "movies", key = "#request.hashCode()")
-    @Transactional(readOnly = true)
+    private final Set<String> refreshingQueries = ConcurrentHashMap.newKeySet();
+
+    @Value("${app.cache.expiry-hours}")
+    private int expiryHours;
+
+    @Value("${app.search.background-refresh:false}")
+    private boolean backgroundRefresh;
+
+    @Value("${app.search.query-result-ttl-minutes:60}")
+    private long queryResultTtlMinutes;
+
+    @Value("${app.search.engine:sql}")
+    private String searchEngine;
+
+    @Value("${app.batch-lookup.max-ids:50}")
+    private int batchMaxIds;
+
+    /**
+     * Not one transaction: OMDb fetches and their ingest run between short
+     * read-only transactions, so a request never holds a pooled connection
+     * while waiting on OMDb or while the writer takes its own.
+     */
     public MovieListResponse searchMovies(MovieSearchRequest request) {
-        // If search query provided, fetch from external API first
-        if (request.getSearch() != null && !request.getSearch().isBlank()) {
-            fetchAndCacheMoviesFromApi(request.getSearch());
+        boolean hasSearch = request.getSearch() != null && !request.getSearch().isBlank();
+
+        if (hasSearch && useSearchIndex(request)) {
+            return searchWithIndex(request);
+        }
+
+        // Keyset order and, when continuing from a cursor, the position after it
+        SortKey sortKey = resolveSortKey(request.getSort(), request.getOrder());
+        MovieCursor cursor = request.getCursor() != null ? decodeCursor(request.getCursor(), sortKey) : null;
+
+        int page = request.getPage() != null ? request.getPage() : 0;
+        int size = request.getSize() != null ? request.getSize() : 10;
+        Set<String> fields = MovieResponse.parseFields(request.getFields());
+
+        // Listings without a title search are filtered and ordered in memory; only the page's rows are read
+        if (!hasSearch) {
+            MovieListResponse response = readOnly(() -> searchWithColumns(request, sortKey, cursor, page, size, fields));
+            if (response != null) {
+                return response;
+            }
+        }
+
+        // Every page of a search is sliced from its cached, ordered id list; no search SQL on a hit
+        String idsKey = MovieSearchIdCache.key(request, sortKey.field(), sortKey.ascending());
+        MovieSearchIdCache.SearchIds cachedIds = movieSearchIdCache.get(idsKey);
+        if (cachedIds != null && cachedIds.imdbIds() != null) {
+            MovieListResponse response = readOnly(
+                    () -> pageOfIds(request, cachedIds, sortKey, cursor, page, size, fields, false));
+            if (response != null) {
+                return response;
+            }
+        }
+
+        // A near-miss of a cached title is answered with the corrected spelling, without asking OMDb
+        String correctedSearch = hasSearch ? correctSpelling(request.getSearch()) : null;
+        MovieSearchRequest filtered = correctedSearch != null
+                ? request.toBuilder().search(correctedSearch).build()
+                : request;
+
+        // If search query provided, fetch from external API first (unless refreshing in the background)
+        if (hasSearch && !backgroundRefresh && correctedSearch == null) {
+            fetchAndCacheMoviesFromApi(filtered.getSearch(), Priority.SEARCH);
+        }
+
+        Specification<Movie> spec = filterSpec(filtered);
+        Specification<Movie> ordered = spec.and(MovieSpecification.orderedBy(sortKey.field(), sortKey.ascending()));
+        // One id more than the cache keeps tells whether the search fits
+        int idLimit = movieSearchIdCache.getMaxIdsPerSearch() + 1;
+        long idsGeneration = movieSearchIdCache.generation();
+        List<String> imdbIds = readOnly(() -> movieRepository.findImdbIds(ordered, idLimit));
+
+        // Answer from the database right away and refresh from OMDb in the background.
+        // With nothing cached yet for the query there is nothing to show, so fetch synchronously.
+        boolean refreshing = false;
+        if (hasSearch && backgroundRefresh) {
+            if (imdbIds.isEmpty()) {
+                fetchAndCacheMoviesFromApi(filtered.getSearch(), Priority.SEARCH);
+                movieCountCache.invalidate(filtered);
+                // The fetch's own writes cleared the id cache; this read sees them
+                idsGeneration = movieSearchIdCache.generation();
+                imdbIds = readOnly(() -> movieRepository.findImdbIds(ordered, idLimit));
+            } else {
+                refreshing = scheduleBackgroundRefresh(filtered.getSearch());
+            }
+        }
+
+        boolean refreshStarted = refreshing;
+        MovieSearchIdCache.SearchIds searchIds = movieSearchIdCache.put(idsKey, idsGeneration, imdbIds, correctedSearch);
+        if (searchIds.imdbIds() != null) {
+            MovieListResponse response = readOnly(
+                    () -> pageOfIds(request, searchIds, sortKey, cursor, page, size, fields, refreshStarted));
+            if (response != null) {
+                return response;
+            }
+        }
+
+        // Too many matches to keep their ids: query the page
+        return readOnly(() -> queryPage(filtered, correctedSearch, spec, sortKey, cursor, page, size, fields,
+                refreshStarted));
+    }
+
+    /**
+     * One page straight from the database; totals come from the short-lived
+     * count cache, and slice mode skips them
+     */
+    private MovieListResponse queryPage(MovieSearchRequest filtered, String correctedSearch, Specification<Movie> spec,
+                                        SortKey sortKey, MovieCursor cursor, int page, int size,
+                                        Set<String> fields, boolean refreshing) {
+        boolean sliceOnly = Boolean.TRUE.equals(filtered.getSlice());
+        MovieSlice slice = findMovieSlice(spec, sortKey, cursor, page, size, fields);
+        Long totalElements = sliceOnly ? null : movieCountCache.count(filtered, () -> movieRepository.count(spec));
+
+        List<MovieResponse> movieResponses = slice.content().stream()
+                .map(movie -> toResponse(movie, fields))
+                .collect(Collectors.toList());
+
+        String nextCursor = null;
+        if (slice.hasNext() && !slice.content().isEmpty()) {
+            Movie last = slice.content().get(slice.content().size() - 1);
+            nextCursor = MovieCursor.after(last, sortKey.field(), sortKey.ascending()).encode();
+        }
+
+        return MovieListResponse.builder()
+                .movies(movieResponses)
+                .totalElements(totalElements)
+                .totalPages(totalElements != null ? (int) ((totalElements + size - 1) / size) : null)
+                .currentPage(page)
+                .pageSize(size)
+                .hasNext(slice.hasNext())
+                .refreshing(refreshing)
+                .nextCursor(nextCursor)
+                .facets(facets(filtered, spec))
+                .correctedSearch(correctedSearch)
+                .build();
+    }
+
+    /**
+     * One page from the column store; null when the store cannot answer the request
+     */
+    private MovieListResponse searchWithColumns(MovieSearchRequest request, SortKey sortKey, MovieCursor cursor,
+                                                int page, int size, Set<String> fields) {
+        boolean withFacets = Boolean.TRUE.equals(request.getFacets());
+        MovieColumnStore.ScanResult scan = movieColumnStore.scan(request, sortKey.field(), sortKey.ascending(),
+                cursor, (long) page * size, size, withFacets);
+        if (scan == null) {
+            return null;
+        }
+
+        List<MovieResponse> rows = loadRows(scan.imdbIds(), sortKey, fields);
+        String nextCursor = null;
+        if (scan.hasNext() && !rows.isEmpty()) {
+            MovieResponse last = rows.get(rows.size() - 1);
+            nextCursor = MovieCursor.after(last, sortKey.field(), sortKey.ascending()).encode();
+        }
+        Long totalElements = Boolean.TRUE.equals(request.getSlice()) ? null : scan.total();
+
+        return MovieListResponse.builder()
+                .movies(rows.stream().map(row -> fields != null ? row.withOnly(fields) : row).toList())
+                .totalElements(totalElements)
+                .totalPages(totalElements != null ? (int) ((totalElements + size - 1) / size) : null)
+                .currentPage(page)
+                .pageSize(size)
+                .hasNext(scan.hasNext())
+                .nextCursor(nextCursor)
+                .facets(withFacets ? MovieFacets.fromGroups(scan.facetGroups()) : null)
+                .build();
+    }
+
+    /**
+     * One page sliced from a cached id list; null when the cursor is not in
+     * the list (it was issued for an older one), so the caller queries instead
+     */
+    private MovieListResponse pageOfIds(MovieSearchRequest request, MovieSearchIdCache.SearchIds searchIds,
+                                        SortKey sortKey, MovieCursor cursor, int page, int size,
+                                        Set<String> fields, boolean refreshing) {
+        List<String> imdbIds = searchIds.imdbIds();
+        int from;
+        if (cursor != null) {
+            int at = imdbIds.indexOf(cursor.imdbId());
+            if (at < 0) {
+                return null;
+            }
+            from = at + 1;
+        } else {
+            from = (int) Math.min((long) page * size, imdbIds.size());
+        }
+        int to = Math.min(from + size, imdbIds.size());
+        boolean hasNext = to < imdbIds.size();
+
+        List<MovieResponse> rows = loadRows(imdbIds.subList(from, to), sortKey, fields);
+
+        String nextCursor = null;
+        if (hasNext && !rows.isEmpty()) {
+            MovieResponse last = rows.get(rows.size() - 1);
+            nextCursor = MovieCursor.after(last, sortKey.field(), sortKey.ascending()).encode();
         }
 
-        // Build specification for filtering
+        MovieSearchRequest filtered = searchIds.correctedSearch() != null
+                ? request.toBuilder().search(searchIds.correctedSearch()).build()
+                : request;
+        Long totalElements = Boolean.TRUE.equals(request.getSlice()) ? null : (long) imdbIds.size();
+
+        return MovieListResponse.builder()
+                .movies(rows.stream().map(row -> fields != null ? row.withOnly(fields) : row).toList())
+                .totalElements(totalElements)
+                .totalPages(totalElements != null ? (int) ((totalElements + size - 1) / size) : null)
+                .currentPage(page)
+                .pageSize(size)
+                .hasNext(hasNext)
+                .refreshing(refreshing)
+                .nextCursor(nextCursor)
+                .facets(facets(filtered, null))
+                .correctedSearch(searchIds.correctedSearch())
+                .build();
+    }
+
+    /**
+     * Rows for the ids in their order. With a sparse fieldset only those columns
+     * and the sort key (for the cursor) are read; callers trim to the fields.
+     */
+    private List<MovieResponse> loadRows(List<String> imdbIds, SortKey sortKey, Set<String> fields) {
+        if (fields == null) {
+            return loadResponses(imdbIds);
+        }
+        if (imdbIds.isEmpty()) {
+            return List.of();
+        }
+        Set<String> columns = new HashSet<>(fields);
+        columns.add(sortKey.field());
+        Map<String, Movie> byImdbId = movieRepository.findSliceColumns(
+                        MovieSpecification.imdbIdIn(imdbIds), columns, 0, imdbIds.size()).stream()
+                .collect(Collectors.toMap(Movie::getImdbId, movie -> movie));
+        return imdbIds.stream()
+                .map(byImdbId::get)
+                .filter(Objects::nonNull)
+                .map(MovieResponse::fromEntity)
+                .toList();
+    }
+
+    /**
+     * Full rows for the ids in their order, from the per-movie cache where
+     * present and in one read (plus one per collection) for the rest
+     */
+    private List<MovieResponse> loadResponses(List<String> imdbIds) {
+        Cache movieCache = cacheManager.getCache("movies");
+        Map<String, MovieResponse> byImdbId = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String imdbId : imdbIds) {
+            MovieResponse cached = movieCache != null ? movieCache.get(imdbId, MovieResponse.class) : null;
+            if (cached != null) {
+                byImdbId.put(imdbId, cached);
+            } else {
+                missing.add(imdbId);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            List<Movie> movies = movieRepository.findByImdbIdIn(missing);
+            movieRepository.fetchCollections(movies);
+            for (Movie movie : movies) {
+                MovieResponse response = MovieResponse.fromEntity(movie);
+                byImdbId.put(movie.getImdbId(), response);
+                // Expired rows stay out, so getMovieById still refreshes them from OMDb
+                if (movieCache != null && !isExpired(movie)) {
+                    movieCache.put(movie.getImdbId(), response);
+                }
+            }
+        }
+
+        return imdbIds.stream()
+                .map(byImdbId::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * Facet counts when requested, in one grouped query shared by every page of the same filters
+     */
+    private MovieFacets facets(MovieSearchRequest request, Specification<Movie> spec) {
+        if (!Boolean.TRUE.equals(request.getFacets())) {
+            return null;
+        }
+        Specification<Movie> filters = spec != null ? spec : filterSpec(request);
+        return movieCountCache.facets(request, () -> MovieFacets.fromGroups(movieRepository.countFacetGroups(filters)));
+    }
+
+    private Specification<Movie> filterSpec(MovieSearchRequest request) {
         Specification<Movie> spec = Specification.where(null);
 
         if (request.getSearch() != null && !request.getSearch().isBlank()) {
@@ -52,7 +358,7 @@ public class MovieService {
         }
 
         if (request.getGenres() != null && !request.getGenres().isEmpty()) {
-            spec = spec.and(MovieSpecification.hasGenres(request.getGenres()));
+            spec = spec.and(MovieSpecification.hasGenres(request.getGenres(), request.matchAllGenres()));
         }
 
         if (request.getMinYear() != null) {
@@ -66,57 +372,356 @@ public class MovieService {
         if (request.getMinRating() != null) {
             spec = spec.and(MovieSpecification.ratingGreaterThanOrEqual(request.getMinRating()));
         }
+        return spec;
+    }
+
+    private record SortKey(String field, boolean ascending) {
+    }
+
+    private record MovieSlice(List<Movie> content, boolean hasNext) {
+    }
+
+    /**
+     * One page in keyset order, read with one extra row to tell whether another
+     * page follows; no COUNT query. With a cursor the rows after it are read
+     * instead of using an OFFSET, so deep pages cost the same as the first and
+     * rows inserted meanwhile do not shift the page.
+     * With a sparse fieldset only those columns (and the sort key for the cursor) are read.
+     */
+    private MovieSlice findMovieSlice(Specification<Movie> spec, SortKey sortKey, MovieCursor cursor,
+                                      int page, int size, Set<String> fields) {
+        Specification<Movie> ordered = spec.and(MovieSpecification.orderedBy(sortKey.field(), sortKey.ascending()));
+        int offset = page * size;
+        if (cursor != null) {
+            ordered = ordered.and(MovieSpecification.after(
+                    sortKey.field(), sortKey.ascending(), cursor.value(), cursor.imdbId()));
+            offset = 0;
+        }
 
-        // Build sort
-        Sort sort = buildSort(request.getSort(), request.getOrder());
+        List<Movie> rows;
+        if (fields == null) {
+            rows = movieRepository.findSlice(ordered, offset, size + 1);
+        } else {
+            Set<String> columns = new HashSet<>(fields);
+            columns.add(sortKey.field());
+            rows = movieRepository.findSliceColumns(ordered, columns, offset, size + 1);
+        }
+        boolean hasNext = rows.size() > size;
+        List<Movie> content = hasNext ? rows.subList(0, size) : rows;
+        if (fields == null) {
+            movieRepository.fetchCollections(content);
+        }
+        return new MovieSlice(content, hasNext);
+    }
+
+    private MovieResponse toResponse(Movie movie, Set<String> fields) {
+        MovieResponse response = MovieResponse.fromEntity(movie);
+        return fields != null ? response.withOnly(fields) : response;
+    }
+
+    /**
+     * Corrected spelling for a search that matches no cached title while its
+     * correction does; null otherwise. The database is only asked when the
+     * search has a word that no cached title contains.
+     */
+    private String correctSpelling(String search) {
+        String corrected = fuzzyTitleMatcher.correct(search);
+        if (corrected == null
+                || movieRepository.exists(MovieSpecification.titleContains(search))
+                || !movieRepository.exists(MovieSpecification.titleContains(corrected))) {
+            return null;
+        }
+        log.info("Answering search '{}' as '{}'", search, corrected);
+        return corrected;
+    }
+
+    private MovieCursor decodeCursor(String encoded, SortKey sortKey) {
+        MovieCursor cursor = MovieCursor.decode(encoded);
+        if (!cursor.field().equals(sortKey.field()) || cursor.ascending() != sortKey.ascending()) {
+            throw new BadRequestException("Cursor does not match the requested sort");
+        }
+        return cursor;
+    }
+
+    private boolean useSearchIndex(MovieSearchRequest request) {
+        String engine = request.getEngine() != null ? request.getEngine() : searchEngine;
+        return "index".equalsIgnoreCase(engine) && movieSearchIndex.isReady();
+    }
+
+    /**
+     * Ranked search through the in-memory index; only the returned page is read from the database
+     */
+    private MovieListResponse searchWithIndex(MovieSearchRequest request) {
+        if (request.getCursor() != null) {
+            throw new BadRequestException("Cursor pagination is not supported with engine=index, use page");
+        }
+
+        // Answer from the index; the hits already hold the ordered ids, so no id cache is needed
+        List<MovieSearchIndex.Hit> hits = movieSearchIndex.search(request.getSearch(), request);
+        String correctedSearch = null;
+        if (hits.isEmpty()) {
+            // A near-miss of an indexed title is answered with the corrected spelling, without asking OMDb
+            String corrected = fuzzyTitleMatcher.correct(request.getSearch());
+            if (corrected != null) {
+                hits = movieSearchIndex.search(corrected, request);
+                if (!hits.isEmpty()) {
+                    log.info("Answering search '{}' as '{}'", request.getSearch(), corrected);
+                    correctedSearch = corrected;
+                }
+            }
+        }
+
+        // OMDb is only waited on when nothing is indexed for the query; otherwise it refreshes in the background
+        boolean refreshing = false;
+        if (hits.isEmpty()) {
+            if (fetchAndCacheMoviesFromApi(request.getSearch(), Priority.SEARCH) > 0) {
+                hits = movieSearchIndex.search(request.getSearch(), request);
+            }
+        } else {
+            refreshing = scheduleBackgroundRefresh(correctedSearch != null ? correctedSearch : request.getSearch());
+        }
 
-        // Build pageable
         int page = request.getPage() != null ? request.getPage() : 0;
         int size = request.getSize() != null ? request.getSize() : 10;
-        Pageable pageable = PageRequest.of(page, size, sort);
-
-        // Query database
-        Page<Movie> moviePage = movieRepository.findAll(spec, pageable);
+        List<String> pageIds = hits.stream()
+                .skip((long) page * size)
+                .limit(size)
+                .map(MovieSearchIndex.Hit::imdbId)
+                .toList();
 
-        List<MovieResponse> movieResponses = moviePage.getContent().stream()
-                .map(MovieResponse::fromEntity)
-                .collect(Collectors.toList());
+        Set<String> fields = MovieResponse.parseFields(request.getFields());
+        List<MovieResponse> movieResponses = readOnly(() -> {
+            List<Movie> pageMovies;
+            if (pageIds.isEmpty()) {
+                pageMovies = List.of();
+            } else if (fields == null) {
+                pageMovies = movieRepository.findByImdbIdIn(pageIds);
+                movieRepository.fetchCollections(pageMovies);
+            } else {
+                pageMovies = movieRepository.findSliceColumns(MovieSpecification.imdbIdIn(pageIds), fields, 0, pageIds.size());
+            }
+            Map<String, Movie> moviesById = pageMovies.stream()
+                    .collect(Collectors.toMap(Movie::getImdbId, movie -> movie));
+            return pageIds.stream()
+                    .map(moviesById::get)
+                    .filter(Objects::nonNull)
+                    .map(movie -> toResponse(movie, fields))
+                    .collect(Collectors.toList());
+        });
 
         return MovieListResponse.builder()
                 .movies(movieResponses)
-                .totalElements(moviePage.getTotalElements())
-                .totalPages(moviePage.getTotalPages())
-                .currentPage(moviePage.getNumber())
-                .pageSize(moviePage.getSize())
+                .totalElements((long) hits.size())
+                .totalPages((hits.size() + size - 1) / size)
+                .currentPage(page)
+                .pageSize(size)
+                .hasNext((long) (page + 1) * size < hits.size())
+                .refreshing(refreshing)
+                .facets(Boolean.TRUE.equals(request.getFacets())
+                        ? MovieFacets.fromGroups(movieSearchIndex.facetGroups(hits))
+                        : null)
+                .correctedSearch(correctedSearch)
                 .build();
     }
 
-    @Cacheable(value = "movies", key = "#imdbId")
-    @Transactional
+    /**
+     * Typeahead from the in-memory prefix index only; never queries the database or OMDb
+     */
+    public List<MovieSuggestion> suggest(String prefix, int limit) {
+        if (limit < 1) {
+            throw new BadRequestException("limit must be at least 1");
+        }
+        return movieSuggestIndex.suggest(prefix, limit);
+    }
+
+    /**
+     * Movie details from the per-movie cache, the database or OMDb. Only fresh
+     * copies are cached: an expired copy served while OMDb cannot refresh it
+     * stays out, so the next call tries the refresh again.
+     */
     public MovieResponse getMovieById(String imdbId) {
-        // Check if movie is blacklisted
-        if (blacklistedMovieRepository.existsByImdbId(imdbId)) {
-            log.info("Movie {} is blacklisted, not returning", imdbId);
-            throw new ResourceNotFoundException("Movie not found with ID: " + imdbId);
+        Cache movieCache = cacheManager.getCache("movies");
+        MovieResponse cachedResponse = movieCache != null ? movieCache.get(imdbId, MovieResponse.class) : null;
+        if (cachedResponse != null) {
+            return cachedResponse;
         }
 
-        // Check cache first
-        Optional<Movie> cachedMovie = movieRepository.findByImdbId(imdbId);
-        
-        if (cachedMovie.isPresent()) {
-            log.info("Movie found in cache: {}", imdbId);
-            return MovieResponse.fromEntity(cachedMovie.get());
+        // Read in a short transaction of its own; a refresh from OMDb runs after it
+        MovieResponse stored = readOnly(() -> {
+            // Check if movie is blacklisted
+            if (blacklistedMovieRepository.existsByImdbId(imdbId)) {
+                log.info("Movie {} is blacklisted, not returning", imdbId);
+                throw new ResourceNotFoundException("Movie not found with ID: " + imdbId);
+            }
+            return movieRepository.findByImdbId(imdbId).map(MovieResponse::fromEntity).orElse(null);
+        });
+
+        if (stored != null) {
+            if (!isExpired(stored.getCachedAt())) {
+                log.info("Movie found in cache: {}", imdbId);
+                return cacheResponse(movieCache, stored);
+            }
+
+            // Expired: refresh from OMDb, but keep serving the stored copy while OMDb is unavailable
+            if (omdbApiService.isCircuitOpen()) {
+                log.info("OMDb unavailable, serving expired cached movie: {}", imdbId);
+                return stored;
+            }
+            try {
+                return cacheResponse(movieCache,
+                        requestCoalescer.execute("movie:" + imdbId, () -> fetchAndCacheMovie(imdbId)));
+            } catch (ExternalApiException | OmdbQuotaExceededException | ResourceNotFoundException e) {
+                log.warn("Could not refresh expired movie {}, serving cached copy: {}", imdbId, e.getMessage());
+                return stored;
+            }
         }
 
-        // Fetch from external API
-        log.info("Movie not in cache, fetching from OMDb API: {}", imdbId);
-        OmdbMovieDetail omdbMovie = omdbApiService.getMovieDetails(imdbId)
-                .orElseThrow(() -> new ResourceNotFoundException("Movie not found with ID: " + imdbId));
+        // Fetch from external API, sharing one fetch between concurrent callers
+        return cacheResponse(movieCache, requestCoalescer.execute("movie:" + imdbId, () -> fetchAndCacheMovie(imdbId)));
+    }
 
-        // Save to cache
-        Movie movie = convertOmdbDetailToMovie(omdbMovie);
-        movie = movieRepository.save(movie);
+    /**
+     * Only the selected fields of a movie. A fresh stored copy is read column by
+     * column; a cached response is trimmed, and a missing or expired movie takes
+     * the full path so it is fetched or refreshed as usual.
+     */
+    public MovieResponse getMovieById(String imdbId, Set<String> fields) {
+        if (fields == null) {
+            return getMovieById(imdbId);
+        }
+        Cache movieCache = cacheManager.getCache("movies");
+        MovieResponse cachedResponse = movieCache != null ? movieCache.get(imdbId, MovieResponse.class) : null;
+        if (cachedResponse != null) {
+            return cachedResponse.withOnly(fields);
+        }
+
+        Movie stored = readOnly(() -> {
+            if (blacklistedMovieRepository.existsByImdbId(imdbId)) {
+                log.info("Movie {} is blacklisted, not returning", imdbId);
+                throw new ResourceNotFoundException("Movie not found with ID: " + imdbId);
+            }
+            // cachedAt decides whether the copy is fresh enough to serve
+            Set<String> columns = new HashSet<>(fields);
+            columns.add("cachedAt");
+            List<Movie> rows = movieRepository.findSliceColumns(
+                    MovieSpecification.imdbIdIn(List.of(imdbId)), columns, 0, 1);
+            return rows.isEmpty() ? null : rows.get(0);
+        });
+        if (stored != null && !isExpired(stored)) {
+            return toResponse(stored, fields);
+        }
+        return getMovieById(imdbId).withOnly(fields);
+    }
+
+    private MovieResponse cacheResponse(Cache movieCache, MovieResponse response) {
+        if (movieCache != null) {
+            movieCache.put(response.getImdbId(), response);
+        }
+        return response;
+    }
+
+    /**
+     * Many movies in one call: one blacklist query, bulk per-movie cache lookups,
+     * one read for the rest, and one concurrent OMDb fan-out for ids that are
+     * missing or expired. Expired copies are served when OMDb cannot refresh them.
+     */
+    public MovieBatchResponse getMoviesByIds(List<String> imdbIds) {
+        List<String> requested = imdbIds.stream()
+                .filter(Objects::nonNull)
+                .map(String::trim)
+                .filter(imdbId -> !imdbId.isEmpty())
+                .distinct()
+                .toList();
+        if (requested.size() > batchMaxIds) {
+            throw new BadRequestException("At most " + batchMaxIds + " imdbIds per batch");
+        }
+        if (requested.isEmpty()) {
+            return MovieBatchResponse.builder().movies(List.of()).notFound(List.of()).build();
+        }
+
+        Set<String> blacklistedIds = blacklistedMovieRepository.findBlacklistedImdbIds(requested);
+        Cache movieCache = cacheManager.getCache("movies");
+        Map<String, MovieResponse> found = new HashMap<>();
+        List<String> uncached = new ArrayList<>();
+        for (String imdbId : requested) {
+            if (blacklistedIds.contains(imdbId)) {
+                continue;
+            }
+            MovieResponse cached = movieCache != null ? movieCache.get(imdbId, MovieResponse.class) : null;
+            if (cached != null) {
+                found.put(imdbId, cached);
+            } else {
+                uncached.add(imdbId);
+            }
+        }
 
+        Map<String, MovieResponse> expired = new HashMap<>();
+        List<String> toFetch = new ArrayList<>();
+        if (!uncached.isEmpty()) {
+            // Read in a short transaction; the OMDb fan-out below runs after it
+            List<Movie> stored = readOnly(() -> {
+                List<Movie> movies = movieRepository.findByImdbIdIn(uncached);
+                movieRepository.fetchCollections(movies);
+                return movies;
+            });
+            for (Movie movie : stored) {
+                MovieResponse response = MovieResponse.fromEntity(movie);
+                if (isExpired(movie)) {
+                    expired.put(movie.getImdbId(), response);
+                } else {
+                    found.put(movie.getImdbId(), response);
+                    if (movieCache != null) {
+                        movieCache.put(movie.getImdbId(), response);
+                    }
+                }
+            }
+            uncached.stream().filter(imdbId -> !found.containsKey(imdbId)).forEach(toFetch::add);
+        }
+
+        // Ids OMDb fails on, lacks or has no quota for are left out of the fan-out's result
+        if (!toFetch.isEmpty() && !omdbApiService.isCircuitOpen()) {
+            List<Movie> fetched = omdbApiService.getMovieDetails(toFetch, Priority.INTERACTIVE).stream()
+                    .map(this::convertOmdbDetailToMovie)
+                    .toList();
+            for (Movie movie : movieIngestionWriter.upsert(fetched)) {
+                MovieResponse response = MovieResponse.fromEntity(movie);
+                found.put(movie.getImdbId(), response);
+                if (movieCache != null) {
+                    movieCache.put(movie.getImdbId(), response);
+                }
+            }
+        }
+        expired.forEach(found::putIfAbsent);
+
+        List<MovieResponse> movies = new ArrayList<>(found.size());
+        List<String> notFound = new ArrayList<>();
+        for (String imdbId : requested) {
+            MovieResponse movie = found.get(imdbId);
+            if (movie != null) {
+                movies.add(movie);
+            } else {
+                notFound.add(imdbId);
+            }
+        }
+        return MovieBatchResponse.builder().movies(movies).notFound(notFound).build();
+    }
+
+    private boolean isExpired(Movie movie) {
+        return isExpired(movie.getCachedAt());
+    }
+
+    private boolean isExpired(LocalDateTime cachedAt) {
+        return cachedAt != null && cachedAt.isBefore(LocalDateTime.now().minusHours(expiryHours));
+    }
+
+    private MovieResponse fetchAndCacheMovie(String imdbId) {
+        log.info("Fetching movie from OMDb API: {}", imdbId);
+        OmdbMovieDetail omdbMovie = omdbApiService.getMovieDetails(imdbId, Priority.INTERACTIVE)
+                .orElseThrow(() -> new ResourceNotFoundException("Movie not found with ID: " + imdbId));
+
+        // Stored in its own transaction so the row is committed before waiting callers are released;
+        // an expired row is refreshed in place
+        Movie movie = movieIngestionWriter.upsert(List.of(convertOmdbDetailToMovie(omdbMovie))).get(0);
         return MovieResponse.fromEntity(movie);
     }
 
@@ -191,6 +796,7 @@ public class MovieService {
         
         // Remove from cache
         movieRepository.delete(movie);
+        movieIndexUpdater.removed(List.of(imdbId));
         
         // Add to blacklist to prevent re-caching
         BlacklistedMovie blacklistedMovie = BlacklistedMovie.builder()
@@ -208,6 +814,8 @@ public class MovieService {
     public void clearAllMovies() {
         log.info("Clearing all movies from cache");
         movieRepository.deleteAll();
+        searchQueryResultRepository.deleteAll();
+        movieIndexUpdater.cleared();
         log.info("All movies cleared from cache");
     }
 
@@ -233,42 +841,144 @@ public class MovieService {
         if (updatedMovie.getImdbRating() != null) movie.setImdbRating(updatedMovie.getImdbRating());
 
         movie = movieRepository.save(movie);
+        movieIndexUpdater.stored(List.of(movie));
         log.info("Updated movie in cache: {}", imdbId);
 
         return MovieResponse.fromEntity(movie);
     }
 
-    @CacheEvict(value = "movieStats", allEntries = true)
-    private void fetchAndCacheMoviesFromApi(String query) {
+    /**
+     * Queue an OMDb refresh for the query on the bounded background executor.
+     * Returns false when the refresh could not be queued.
+     */
+    private boolean scheduleBackgroundRefresh(String query) {
+        String key = normalizeQuery(query);
+        if (!refreshingQueries.add(key)) {
+            // Refresh for this query already queued or running
+            return true;
+        }
+
         try {
-            Optional<OmdbSearchResponse> searchResponse = omdbApiService.searchMovies(query, 1);
-            
-            if (searchResponse.isPresent() && searchResponse.get().getSearch() != null) {
-                for (OmdbSearchResult result : searchResponse.get().getSearch()) {
-                    // Only fetch details if not already cached and not blacklisted
-                    if (!movieRepository.existsByImdbId(result.getImdbID()) && 
-                        !blacklistedMovieRepository.existsByImdbId(result.getImdbID())) {
-                        Optional<OmdbMovieDetail> detailOpt = omdbApiService.getMovieDetails(result.getImdbID());
-                        detailOpt.ifPresent(detail -> {
-                            Movie movie = convertOmdbDetailToMovie(detail);
-                            movieRepository.save(movie);
-                            log.info("Cached movie: {} ({})", movie.getTitle(), movie.getImdbId());
-                        });
-                        
-                        // Add small delay to avoid rate limiting
-                        Thread.sleep(100);
-                    } else if (blacklistedMovieRepository.existsByImdbId(result.getImdbID())) {
-                        log.debug("Skipping blacklisted movie: {}", result.getImdbID());
+            searchRefreshExecutor.execute(() -> {
+                try {
+                    if (fetchAndCacheMoviesFromApi(query, Priority.PREFETCH) > 0) {
+                        evictSearchCaches();
                     }
+                } finally {
+                    refreshingQueries.remove(key);
+                }
+            });
+            return true;
+        } catch (TaskRejectedException e) {
+            refreshingQueries.remove(key);
+            log.warn("Background refresh queue is full, skipping refresh for query: {}", query);
+            return false;
+        }
+    }
+
+    /**
+     * Drop cached search and stats results after movies were added outside a search
+     */
+    public void evictSearchCaches() {
+        Optional.ofNullable(cacheManager.getCache("movies")).ifPresent(Cache::clear);
+        Optional.ofNullable(cacheManager.getCache("movieStats")).ifPresent(Cache::clear);
+        movieCountCache.clear();
+        movieSearchIdCache.clear();
+    }
+
+    @CacheEvict(value = "movieStats", allEntries = true)
+    private int fetchAndCacheMoviesFromApi(String query, Priority priority) {
+        int cachedCount = 0;
+        try {
+            List<String> resultIds = findSearchResultIds(query, priority);
+
+            if (!resultIds.isEmpty()) {
+                // Classify the whole result page in two queries: blacklisted, already cached, missing
+                Set<String> blacklistedIds = blacklistedMovieRepository.findBlacklistedImdbIds(resultIds);
+                Set<String> cachedIds = movieRepository.findExistingImdbIds(resultIds);
+                if (!blacklistedIds.isEmpty()) {
+                    log.debug("Skipping blacklisted movies: {}", blacklistedIds);
+                }
+                List<String> missingIds = resultIds.stream()
+                        .filter(imdbId -> !blacklistedIds.contains(imdbId) && !cachedIds.contains(imdbId))
+                        .distinct()
+                        .toList();
+
+                // Fetch all missing details concurrently instead of one by one, then store them in one batch
+                List<Movie> movies = omdbApiService.getMovieDetails(missingIds, priority).stream()
+                        .map(this::convertOmdbDetailToMovie)
+                        .toList();
+                for (Movie movie : movieIngestionWriter.upsert(movies)) {
+                    log.info("Cached movie: {} ({})", movie.getTitle(), movie.getImdbId());
+                    cachedCount++;
                 }
             }
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            log.warn("Movie caching interrupted");
+        } catch (OmdbQuotaExceededException e) {
+            log.warn("Skipping OMDb fetch for query '{}': {}", query, e.getMessage());
         } catch (Exception e) {
             log.error("Error fetching movies from API", e);
             // Don't throw exception, just log it - we can still return cached results
         }
+        return cachedCount;
+    }
+
+    /**
+     * Resolve the imdbIds OMDb returns for a query, reusing the stored result
+     * for the normalized query while it is younger than the configured TTL.
+     */
+    private List<String> findSearchResultIds(String query, Priority priority) {
+        String normalizedQuery = normalizeQuery(query);
+        LocalDateTime freshAfter = LocalDateTime.now().minusMinutes(queryResultTtlMinutes);
+
+        Optional<SearchQueryResult> stored = searchQueryResultRepository.findByQuery(normalizedQuery);
+        if (stored.isPresent() && stored.get().getFetchedAt().isAfter(freshAfter)) {
+            log.debug("Using stored OMDb results for query: {}", normalizedQuery);
+            return stored.get().getImdbIds();
+        }
+
+        Optional<OmdbSearchResponse> searchResponse = omdbApiService.searchMovies(query, 1, priority);
+        if (searchResponse.isEmpty() || searchResponse.get().getSearch() == null) {
+            return List.of();
+        }
+
+        List<String> imdbIds = searchResponse.get().getSearch().stream()
+                .map(OmdbSearchResult::getImdbID)
+                .distinct()
+                .collect(Collectors.toList());
+
+        try {
+            newTransaction().executeWithoutResult(status -> {
+                SearchQueryResult result = searchQueryResultRepository.findByQuery(normalizedQuery)
+                        .orElseGet(() -> SearchQueryResult.builder().query(normalizedQuery).build());
+                result.setImdbIds(new ArrayList<>(imdbIds));
+                result.setFetchedAt(LocalDateTime.now());
+                searchQueryResultRepository.save(result);
+            });
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Search results for query {} were stored concurrently", normalizedQuery);
+        }
+
+        return imdbIds;
+    }
+
+    /**
+     * Database reads of a request that may also call OMDb; the OMDb calls and
+     * their ingest run between these short transactions, never inside one
+     */
+    private <T> T readOnly(Supplier<T> reads) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        return transactionTemplate.execute(status -> reads.get());
+    }
+
+    private TransactionTemplate newTransaction() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return transactionTemplate;
+    }
+
+    private String normalizeQuery(String query) {
+        return query.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
     }
 
     private Movie convertOmdbDetailToMovie(OmdbMovieDetail omdbMovie) {
@@ -342,21 +1052,19 @@ public class MovieService {
                 .collect(Collectors.toList());
     }
 
-    private Sort buildSort(String sortBy, String order) {
+    private SortKey resolveSortKey(String sortBy, String order) {
         if (sortBy == null || sortBy.isBlank()) {
-            return Sort.by(Sort.Direction.DESC, "cachedAt");
+            return new SortKey("cachedAt", false);
         }
 
-        Sort.Direction direction = "asc".equalsIgnoreCase(order) 
-                ? Sort.Direction.ASC 
-                : Sort.Direction.DESC;
+        boolean ascending = "asc".equalsIgnoreCase(order);
 
         return switch (sortBy.toLowerCase()) {
-            case "rating" -> Sort.by(direction, "imdbRating");
-            case "year" -> Sort.by(direction, "year");
-            case "title" -> Sort.by(direction, "title");
-            case "runtime" -> Sort.by(direction, "runtime");
-            default -> Sort.by(Sort.Direction.DESC, "cachedAt");
+            case "rating" -> new SortKey("imdbRating", ascending);
+            case "year" -> new SortKey("year", ascending);
+            case "title" -> new SortKey("title", ascending);
+            case "runtime" -> new SortKey("runtime", ascending);
+            default -> new SortKey("cachedAt", false);
         };
     }
 }
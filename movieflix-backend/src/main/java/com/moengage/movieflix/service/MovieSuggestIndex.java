@@ -0,0 +1,389 @@
+package com.moengage.movieflix.service;
+
+import com.moengage.movieflix.dto.MovieSuggestion;
+import com.moengage.movieflix.entity.Movie;
+import com.moengage.movieflix.repository.MovieRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory prefix index for typeahead
+ * A trie over the normalized titles, directors and actors of cached movies,
+ * keyed from every word start so "knig" finds "The Dark Knight". Each node
+ * keeps the best suggestions of its subtree, so a lookup costs one walk of
+ * the typed prefix. Kept current alongside {@link MovieSearchIndex}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MovieSuggestIndex implements CommandLineRunner {
+
+    public static final int MAX_SUGGESTIONS = 10;
+    private static final int BUILD_PAGE_SIZE = 500;
+
+    private static final Comparator<Suggestion> BEST_FIRST = Comparator
+            .comparingDouble(Suggestion::score).reversed()
+            .thenComparing(Suggestion::text);
+
+    private final MovieRepository movieRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Node root = new Node();
+    private final Map<String, IndexedMovie> movies = new HashMap<>();
+    private final Map<String, Person> people = new HashMap<>();
+    private volatile boolean ready;
+
+    private final AtomicLong lookups = new AtomicLong();
+    private final AtomicLong lookupNanos = new AtomicLong();
+
+    @Value("${app.search.suggest.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * A suggestion; people are scored by their best movie
+     */
+    private record Suggestion(String id, String type, String text, String imdbId, Integer year, double score) {
+    }
+
+    /**
+     * What a movie contributed, to take it out again when it changes or is removed
+     */
+    private record IndexedMovie(Suggestion title, List<String> people) {
+    }
+
+    private static class Person {
+        private final String type;
+        private final String name;
+        private final Map<String, Double> scoreByImdbId = new HashMap<>();
+        private Suggestion suggestion;
+
+        private Person(String type, String name) {
+            this.type = type;
+            this.name = name;
+        }
+    }
+
+    private static class Node {
+        private Map<Character, Node> children;
+        private Map<String, Suggestion> entries; // suggestions whose key ends here, by id
+        private List<Suggestion> top = List.of(); // best of this subtree, at most MAX_SUGGESTIONS
+    }
+
+    @Override
+    public void run(String... args) {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Rebuild the whole trie from the database
+     */
+    public void rebuild() {
+        long start = System.nanoTime();
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        lock.writeLock().lock();
+        try {
+            clearIndex();
+            int pageNumber = 0;
+            boolean hasNext = true;
+            while (hasNext) {
+                PageRequest pageRequest = PageRequest.of(pageNumber++, BUILD_PAGE_SIZE, Sort.by("id"));
+                hasNext = Boolean.TRUE.equals(readOnly.execute(status -> {
+                    Page<Movie> page = movieRepository.findAll(pageRequest);
+                    page.forEach(this::addMovie);
+                    return page.hasNext();
+                }));
+            }
+            ready = true;
+            log.info("Built suggest index: {} movies, {} people in {} ms",
+                    movies.size(), people.size(), (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Add movies, replacing any indexed version with the same imdbId
+     */
+    public void index(Collection<Movie> moviesToIndex) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            for (Movie movie : moviesToIndex) {
+                removeMovie(movie.getImdbId());
+                addMovie(movie);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Collection<String> imdbIds) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            imdbIds.forEach(this::removeMovie);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            clearIndex();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Best suggestions for a typed prefix, titles and people mixed by score
+     */
+    public List<MovieSuggestion> suggest(String prefix, int limit) {
+        long start = System.nanoTime();
+        lock.readLock().lock();
+        try {
+            String key = Movie.normalizeTitle(prefix);
+            if (key == null || key.isEmpty()) {
+                return List.of();
+            }
+            Node node = root;
+            for (int i = 0; i < key.length() && node != null; i++) {
+                node = node.children != null ? node.children.get(key.charAt(i)) : null;
+            }
+            if (node == null) {
+                return List.of();
+            }
+            return node.top.stream()
+                    .limit(Math.min(limit, MAX_SUGGESTIONS))
+                    .map(s -> new MovieSuggestion(s.type(), s.text(), s.imdbId(), s.year()))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+            lookups.incrementAndGet();
+            lookupNanos.addAndGet(System.nanoTime() - start);
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        lock.readLock().lock();
+        try {
+            long lookupCount = lookups.get();
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("enabled", enabled);
+            stats.put("ready", ready);
+            stats.put("movies", movies.size());
+            stats.put("people", people.size());
+            stats.put("lookups", lookupCount);
+            stats.put("avgLookupMicros", lookupCount == 0 ? 0 : lookupNanos.get() / lookupCount / 1000);
+            return stats;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void clearIndex() {
+        root.children = null;
+        root.entries = null;
+        root.top = List.of();
+        movies.clear();
+        people.clear();
+    }
+
+    private void addMovie(Movie movie) {
+        if (movie.getTitle() == null) {
+            return;
+        }
+        double score = score(movie);
+        Suggestion title = new Suggestion("title:" + movie.getImdbId(), "title", movie.getTitle(),
+                movie.getImdbId(), movie.getYear(), score);
+        keysOf(movie.getTitle()).forEach(key -> addEntry(key, title));
+
+        List<String> personIds = new ArrayList<>();
+        splitNames(movie.getDirector()).forEach(name -> personIds.add(addToPerson("director", name, movie.getImdbId(), score)));
+        if (movie.getActors() != null) {
+            movie.getActors().forEach(actor ->
+                    splitNames(actor).forEach(name -> personIds.add(addToPerson("actor", name, movie.getImdbId(), score))));
+        }
+        movies.put(movie.getImdbId(), new IndexedMovie(title, personIds));
+    }
+
+    private void removeMovie(String imdbId) {
+        IndexedMovie indexed = movies.remove(imdbId);
+        if (indexed == null) {
+            return;
+        }
+        keysOf(indexed.title().text()).forEach(key -> removeEntry(key, indexed.title().id()));
+        for (String personId : new LinkedHashSet<>(indexed.people())) {
+            Person person = people.get(personId);
+            if (person != null) {
+                person.scoreByImdbId.remove(imdbId);
+                updatePerson(personId, person);
+            }
+        }
+    }
+
+    private String addToPerson(String type, String name, String imdbId, double score) {
+        String personId = type + ":" + Movie.normalizeTitle(name);
+        Person person = people.computeIfAbsent(personId, id -> new Person(type, name));
+        person.scoreByImdbId.put(imdbId, score);
+        updatePerson(personId, person);
+        return personId;
+    }
+
+    private void updatePerson(String personId, Person person) {
+        List<String> keys = keysOf(person.name);
+        if (person.scoreByImdbId.isEmpty()) {
+            keys.forEach(key -> removeEntry(key, personId));
+            people.remove(personId);
+            return;
+        }
+        double best = person.scoreByImdbId.values().stream().mapToDouble(Double::doubleValue).max().orElse(0);
+        if (person.suggestion != null && person.suggestion.score() == best) {
+            return;
+        }
+        person.suggestion = new Suggestion(personId, person.type, person.name, null, null, best);
+        keys.forEach(key -> addEntry(key, person.suggestion));
+    }
+
+    private void addEntry(String key, Suggestion suggestion) {
+        List<Node> path = new ArrayList<>(key.length() + 1);
+        Node node = root;
+        path.add(node);
+        for (int i = 0; i < key.length(); i++) {
+            if (node.children == null) {
+                node.children = new HashMap<>(4);
+            }
+            node = node.children.computeIfAbsent(key.charAt(i), c -> new Node());
+            path.add(node);
+        }
+        if (node.entries == null) {
+            node.entries = new HashMap<>(2);
+        }
+        node.entries.put(suggestion.id(), suggestion);
+        updateTop(path, key);
+    }
+
+    private void removeEntry(String key, String id) {
+        List<Node> path = new ArrayList<>(key.length() + 1);
+        Node node = root;
+        path.add(node);
+        for (int i = 0; i < key.length(); i++) {
+            node = node.children != null ? node.children.get(key.charAt(i)) : null;
+            if (node == null) {
+                return;
+            }
+            path.add(node);
+        }
+        if (node.entries == null || node.entries.remove(id) == null) {
+            return;
+        }
+        if (node.entries.isEmpty()) {
+            node.entries = null;
+        }
+        updateTop(path, key);
+    }
+
+    /**
+     * Recompute the best suggestions bottom-up along a changed key; each node
+     * merges its own entries with its children's lists. Emptied nodes are dropped.
+     */
+    private void updateTop(List<Node> path, String key) {
+        for (int depth = path.size() - 1; depth >= 0; depth--) {
+            Node node = path.get(depth);
+            if (depth > 0 && node.entries == null && (node.children == null || node.children.isEmpty())) {
+                path.get(depth - 1).children.remove(key.charAt(depth - 1));
+                continue;
+            }
+            Map<String, Suggestion> candidates = new HashMap<>();
+            if (node.entries != null) {
+                node.entries.values().forEach(s -> candidates.merge(s.id(), s, this::better));
+            }
+            if (node.children != null) {
+                node.children.values().forEach(child -> child.top.forEach(s -> candidates.merge(s.id(), s, this::better)));
+            }
+            node.top = candidates.values().stream()
+                    .sorted(BEST_FIRST)
+                    .limit(MAX_SUGGESTIONS)
+                    .toList();
+        }
+    }
+
+    private Suggestion better(Suggestion a, Suggestion b) {
+        return BEST_FIRST.compare(a, b) <= 0 ? a : b;
+    }
+
+    /**
+     * Every word start of the normalized text: "the dark knight", "dark knight", "knight"
+     */
+    private static List<String> keysOf(String text) {
+        String[] words = Movie.normalizeTitle(text).split(" ");
+        List<String> keys = new ArrayList<>(words.length);
+        for (int i = 0; i < words.length; i++) {
+            String key = String.join(" ", Arrays.asList(words).subList(i, words.length));
+            if (!key.isEmpty()) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+
+    private static List<String> splitNames(String names) {
+        if (names == null || names.isBlank() || "N/A".equals(names)) {
+            return List.of();
+        }
+        return Arrays.stream(names.split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .toList();
+    }
+
+    /**
+     * Rating weighted by the log of the vote count, so well-known movies rank first
+     */
+    private static double score(Movie movie) {
+        double rating = movie.getImdbRating() != null ? movie.getImdbRating() : 0;
+        long votes = 0;
+        if (movie.getImdbVotes() != null) {
+            String digits = movie.getImdbVotes().replaceAll("[^0-9]", "");
+            if (!digits.isEmpty() && digits.length() < 19) {
+                votes = Long.parseLong(digits);
+            }
+        }
+        return rating * Math.log10(votes + 10);
+    }
+}
@@ -3,12 +3,24 @@ package com.moengage.movieflix.service;
 import com.moengage.movieflix.dto.omdb.OmdbMovieDetail;
 import com.moengage.movieflix.dto.omdb.OmdbSearchResponse;
 import com.moengage.movieflix.exception.ExternalApiException;
+import com.moengage.movieflix.exception.OmdbQuotaExceededException;
+import com.moengage.movieflix.exception.OmdbUnavailableException;
+import com.moengage.movieflix.service.OmdbQuotaGovernor.Priority;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
 
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Service
@@ -17,28 +29,60 @@ public class OmdbApiService {
 
     private final WebClient webClient;
     private final String apiKey;
+    private final OmdbQuotaGovernor quotaGovernor;
+    private final OmdbCircuitBreaker circuitBreaker;
+    private final OmdbNegativeCache negativeCache;
+    private final AdaptiveTimeout searchTimeout;
+    private final AdaptiveTimeout detailsTimeout;
+    private final int maxRetries;
+    private final Duration retryBackoff;
+    private final int fanOutConcurrency;
+    private final Duration fanOutPacing;
 
     public OmdbApiService(
-            WebClient.Builder webClientBuilder,
-            @Value("${app.omdb.base-url}") String baseUrl,
-            @Value("${app.omdb.api-key}") String apiKey
+            WebClient omdbWebClient,
+            @Value("${app.omdb.api-key}") String apiKey,
+            OmdbQuotaGovernor quotaGovernor,
+            OmdbCircuitBreaker circuitBreaker,
+            OmdbNegativeCache negativeCache,
+            @Value("${app.omdb.timeouts.min-ms:500}") long minTimeoutMs,
+            @Value("${app.omdb.timeouts.search-ms:3000}") long searchTimeoutMs,
+            @Value("${app.omdb.timeouts.details-ms:3000}") long detailsTimeoutMs,
+            @Value("${app.omdb.retry.max-retries:2}") int maxRetries,
+            @Value("${app.omdb.retry.backoff-ms:100}") long retryBackoffMs,
+            @Value("${app.omdb.fan-out.concurrency:4}") int fanOutConcurrency,
+            @Value("${app.omdb.fan-out.pacing-ms:25}") long fanOutPacingMs
     ) {
-        this.webClient = webClientBuilder.baseUrl(baseUrl).build();
+        this.webClient = omdbWebClient;
         this.apiKey = apiKey;
+        this.quotaGovernor = quotaGovernor;
+        this.circuitBreaker = circuitBreaker;
+        this.negativeCache = negativeCache;
+        this.searchTimeout = new AdaptiveTimeout(Duration.ofMillis(minTimeoutMs), Duration.ofMillis(searchTimeoutMs));
+        this.detailsTimeout = new AdaptiveTimeout(Duration.ofMillis(minTimeoutMs), Duration.ofMillis(detailsTimeoutMs));
+        this.maxRetries = maxRetries;
+        this.retryBackoff = Duration.ofMillis(retryBackoffMs);
+        this.fanOutConcurrency = Math.max(1, fanOutConcurrency);
+        this.fanOutPacing = Duration.ofMillis(Math.max(0, fanOutPacingMs));
     }
 
-    public Optional<OmdbSearchResponse> searchMovies(String query, int page) {
+    public Optional<OmdbSearchResponse> searchMovies(String query, int page, Priority priority) {
+        if (negativeCache.isEmptySearch(query, page)) {
+            log.info("Skipping OMDb search with recent empty result: query={}, page={}", query, page);
+            return Optional.empty();
+        }
+
         try {
             log.info("Searching movies from OMDb API: query={}, page={}", query, page);
             
-            OmdbSearchResponse response = webClient.get()
+            OmdbSearchResponse response = guarded(priority, searchTimeout, webClient.get()
                     .uri(uriBuilder -> uriBuilder
                             .queryParam("apikey", apiKey)
                             .queryParam("s", query)
                             .queryParam("page", page)
                             .build())
                     .retrieve()
-                    .bodyToMono(OmdbSearchResponse.class)
+                    .bodyToMono(OmdbSearchResponse.class))
                     .block();
 
             if (response != null && "True".equals(response.getResponse())) {
@@ -47,8 +91,13 @@ public class OmdbApiService {
             } else {
                 log.warn("No movies found or error from OMDb API: {}", 
                         response != null ? response.getError() : "null response");
+                if (response != null) {
+                    negativeCache.recordEmptySearch(query, page, response.getError());
+                }
                 return Optional.empty();
             }
+        } catch (OmdbQuotaExceededException | OmdbUnavailableException e) {
+            throw e;
         } catch (WebClientResponseException e) {
             log.error("Error calling OMDb API: status={}, body={}", e.getStatusCode(), e.getResponseBodyAsString());
             throw new ExternalApiException("Failed to search movies: " + e.getMessage());
@@ -58,28 +107,16 @@ public class OmdbApiService {
         }
     }
 
-    public Optional<OmdbMovieDetail> getMovieDetails(String imdbId) {
-        try {
-            log.info("Fetching movie details from OMDb API: imdbId={}", imdbId);
-            
-            OmdbMovieDetail response = webClient.get()
-                    .uri(uriBuilder -> uriBuilder
-                            .queryParam("apikey", apiKey)
-                            .queryParam("i", imdbId)
-                            .queryParam("plot", "full")
-                            .build())
-                    .retrieve()
-                    .bodyToMono(OmdbMovieDetail.class)
-                    .block();
+    public Optional<OmdbMovieDetail> getMovieDetails(String imdbId, Priority priority) {
+        if (negativeCache.isMissingMovie(imdbId)) {
+            log.info("Skipping OMDb lookup for recently missing movie: {}", imdbId);
+            return Optional.empty();
+        }
 
-            if (response != null && "True".equals(response.getResponse())) {
-                log.info("Successfully fetched movie details: {}", response.getTitle());
-                return Optional.of(response);
-            } else {
-                log.warn("Movie not found or error from OMDb API: {}", 
-                        response != null ? response.getError() : "null response");
-                return Optional.empty();
-            }
+        try {
+            return guarded(priority, detailsTimeout, fetchMovieDetails(imdbId)).blockOptional();
+        } catch (OmdbQuotaExceededException | OmdbUnavailableException e) {
+            throw e;
         } catch (WebClientResponseException e) {
             log.error("Error calling OMDb API: status={}, body={}", e.getStatusCode(), e.getResponseBodyAsString());
             throw new ExternalApiException("Failed to fetch movie details: " + e.getMessage());
@@ -88,5 +125,132 @@ public class OmdbApiService {
             throw new ExternalApiException("Failed to fetch movie details: " + e.getMessage());
         }
     }
+
+    /**
+     * Fetch details for several movies concurrently over the shared WebClient.
+     * At most {@code app.omdb.fan-out.concurrency} requests are in flight, and request
+     * starts are spaced by {@code app.omdb.fan-out.pacing-ms} to stay friendly with OMDb.
+     * Failed, missing or over-budget ids are logged and left out of the result.
+     */
+    public List<OmdbMovieDetail> getMovieDetails(Collection<String> imdbIds, Priority priority) {
+        if (imdbIds.isEmpty()) {
+            return List.of();
+        }
+
+        log.info("Fetching {} movie details from OMDb API (concurrency={}, pacing={}ms)",
+                imdbIds.size(), fanOutConcurrency, fanOutPacing.toMillis());
+
+        Flux<String> ids = Flux.fromIterable(imdbIds)
+                .filter(imdbId -> !negativeCache.isMissingMovie(imdbId));
+        if (!fanOutPacing.isZero()) {
+            ids = ids.delayElements(fanOutPacing);
+        }
+
+        List<OmdbMovieDetail> details = ids
+                .flatMap(imdbId -> guarded(priority, detailsTimeout, fetchMovieDetails(imdbId))
+                        .onErrorResume(e -> {
+                            log.warn("Failed to fetch movie details for {}: {}", imdbId, e.getMessage());
+                            return Mono.empty();
+                        }), fanOutConcurrency)
+                .collectList()
+                .block();
+
+        return details != null ? details : List.of();
+    }
+
+    public boolean isCircuitOpen() {
+        return circuitBreaker.isOpen();
+    }
+
+    /**
+     * Run an idempotent OMDb GET behind the circuit breaker. Each attempt needs
+     * quota budget and is bounded by the adaptive timeout; transient failures are
+     * retried with jittered backoff before the outcome is recorded by the breaker.
+     */
+    private <T> Mono<T> guarded(Priority priority, AdaptiveTimeout timeout, Mono<T> request) {
+        Mono<T> attempt = withBudget(priority, Mono.defer(() -> {
+            long start = System.nanoTime();
+            return request
+                    .timeout(timeout.current())
+                    .doOnSuccess(result -> timeout.recordLatency(System.nanoTime() - start));
+        }));
+
+        return Mono.defer(() -> {
+            if (!circuitBreaker.tryAcquirePermission()) {
+                return Mono.error(new OmdbUnavailableException("OMDb circuit breaker is open"));
+            }
+
+            long start = System.nanoTime();
+            // Set once the outcome is recorded, so a late cancel does not release the permission again
+            AtomicBoolean settled = new AtomicBoolean();
+            return attempt
+                    .retryWhen(Retry.backoff(maxRetries, retryBackoff)
+                            .jitter(0.5)
+                            .filter(this::isRetryable)
+                            .doBeforeRetry(signal -> log.warn("Retrying OMDb request (attempt {}): {}",
+                                    signal.totalRetries() + 2, signal.failure().getMessage()))
+                            .onRetryExhaustedThrow((spec, signal) -> signal.failure()))
+                    .doOnSuccess(result -> {
+                        settled.set(true);
+                        circuitBreaker.onSuccess(System.nanoTime() - start);
+                    })
+                    .doOnError(e -> {
+                        settled.set(true);
+                        if (e instanceof OmdbQuotaExceededException) {
+                            circuitBreaker.onIgnored();
+                        } else {
+                            circuitBreaker.onError(System.nanoTime() - start);
+                        }
+                    })
+                    // A cancelled call (caller timeout, zip partner failed) tells nothing about OMDb; return its permission
+                    .doOnCancel(() -> {
+                        if (settled.compareAndSet(false, true)) {
+                            circuitBreaker.onIgnored();
+                        }
+                    });
+        });
+    }
+
+    private boolean isRetryable(Throwable e) {
+        if (e instanceof WebClientResponseException responseException) {
+            return responseException.getStatusCode().is5xxServerError();
+        }
+        return e instanceof TimeoutException || e instanceof WebClientRequestException;
+    }
+
+    /**
+     * Defer the request until the quota governor grants budget for it,
+     * failing with OmdbQuotaExceededException when no budget is left.
+     */
+    private <T> Mono<T> withBudget(Priority priority, Mono<T> request) {
+        return Mono.defer(() -> {
+            Duration wait = quotaGovernor.reserve(priority)
+                    .orElseThrow(() -> new OmdbQuotaExceededException(
+                            "OMDb request budget exhausted, serving cached data only"));
+            return wait.isZero() ? request : Mono.delay(wait).then(request);
+        });
+    }
+
+    private Mono<OmdbMovieDetail> fetchMovieDetails(String imdbId) {
+        log.info("Fetching movie details from OMDb API: imdbId={}", imdbId);
+
+        return webClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .queryParam("apikey", apiKey)
+                        .queryParam("i", imdbId)
+                        .queryParam("plot", "full")
+                        .build())
+                .retrieve()
+                .bodyToMono(OmdbMovieDetail.class)
+                .flatMap(response -> {
+                    if ("True".equals(response.getResponse())) {
+                        log.info("Successfully fetched movie details: {}", response.getTitle());
+                        return Mono.just(response);
+                    }
+                    log.warn("Movie not found or error from OMDb API: {}", response.getError());
+                    negativeCache.recordMissingMovie(imdbId, response.getError());
+                    return Mono.empty();
+                });
+    }
 }
 
@@ -0,0 +1,178 @@
+package com.moengage.movieflix.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Circuit breaker for OMDb calls
+ * Opens when too many recent calls fail or are slow, rejects calls while open,
+ * then lets a few trial calls through before closing again
+ */
+@Component
+@Slf4j
+public class OmdbCircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final double slowCallRateThreshold;
+    private final long slowCallNanos;
+    private final long openDurationNanos;
+    private final int halfOpenCalls;
+
+    // Ring buffer of the most recent call outcomes
+    private final boolean[] failures;
+    private final boolean[] slowCalls;
+    private int recordedCalls;
+    private int nextSlot;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+    private long rejectedCalls;
+
+    public OmdbCircuitBreaker(
+            @Value("${app.omdb.circuit-breaker.window-size:20}") int windowSize,
+            @Value("${app.omdb.circuit-breaker.minimum-calls:10}") int minimumCalls,
+            @Value("${app.omdb.circuit-breaker.failure-rate-threshold:50}") double failureRateThreshold,
+            @Value("${app.omdb.circuit-breaker.slow-call-rate-threshold:80}") double slowCallRateThreshold,
+            @Value("${app.omdb.circuit-breaker.slow-call-ms:3000}") long slowCallMs,
+            @Value("${app.omdb.circuit-breaker.open-duration-seconds:30}") long openDurationSeconds,
+            @Value("${app.omdb.circuit-breaker.half-open-calls:3}") int halfOpenCalls
+    ) {
+        this.windowSize = windowSize;
+        this.minimumCalls = Math.min(minimumCalls, windowSize);
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.slowCallNanos = Duration.ofMillis(slowCallMs).toNanos();
+        this.openDurationNanos = Duration.ofSeconds(openDurationSeconds).toNanos();
+        this.halfOpenCalls = halfOpenCalls;
+        this.failures = new boolean[windowSize];
+        this.slowCalls = new boolean[windowSize];
+    }
+
+    /**
+     * Ask whether a call may be sent now. Moves an open circuit to half-open
+     * once the open duration has elapsed.
+     */
+    public synchronized boolean tryAcquirePermission() {
+        if (state == State.OPEN && System.nanoTime() - openedAt >= openDurationNanos) {
+            transitionTo(State.HALF_OPEN);
+        }
+
+        return switch (state) {
+            case CLOSED -> true;
+            case HALF_OPEN -> {
+                if (halfOpenPermits > 0) {
+                    halfOpenPermits--;
+                    yield true;
+                }
+                rejectedCalls++;
+                yield false;
+            }
+            case OPEN -> {
+                rejectedCalls++;
+                yield false;
+            }
+        };
+    }
+
+    public synchronized void onSuccess(long durationNanos) {
+        boolean slow = durationNanos >= slowCallNanos;
+        if (state == State.HALF_OPEN) {
+            if (slow) {
+                transitionTo(State.OPEN);
+            } else if (++halfOpenSuccesses >= halfOpenCalls) {
+                transitionTo(State.CLOSED);
+            }
+            return;
+        }
+        record(false, slow);
+    }
+
+    public synchronized void onError(long durationNanos) {
+        if (state == State.HALF_OPEN) {
+            transitionTo(State.OPEN);
+            return;
+        }
+        record(true, durationNanos >= slowCallNanos);
+    }
+
+    /**
+     * Release a permission for a call that was never sent or whose outcome says
+     * nothing about OMDb health (for example a denied quota reservation).
+     */
+    public synchronized void onIgnored() {
+        if (state == State.HALF_OPEN && halfOpenPermits < halfOpenCalls) {
+            halfOpenPermits++;
+        }
+    }
+
+    public synchronized boolean isOpen() {
+        return state == State.OPEN;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("state", state.name());
+        stats.put("failureRate", rate(failures));
+        stats.put("slowCallRate", rate(slowCalls));
+        stats.put("recordedCalls", recordedCalls);
+        stats.put("rejectedCalls", rejectedCalls);
+        return stats;
+    }
+
+    private void record(boolean failure, boolean slow) {
+        failures[nextSlot] = failure;
+        slowCalls[nextSlot] = slow;
+        nextSlot = (nextSlot + 1) % windowSize;
+        recordedCalls = Math.min(recordedCalls + 1, windowSize);
+
+        if (state == State.CLOSED && recordedCalls >= minimumCalls
+                && (rate(failures) >= failureRateThreshold || rate(slowCalls) >= slowCallRateThreshold)) {
+            transitionTo(State.OPEN);
+        }
+    }
+
+    private double rate(boolean[] outcomes) {
+        if (recordedCalls == 0) {
+            return 0.0;
+        }
+        int count = 0;
+        for (int i = 0; i < recordedCalls; i++) {
+            if (outcomes[i]) count++;
+        }
+        return count * 100.0 / recordedCalls;
+    }
+
+    private void transitionTo(State newState) {
+        log.warn("OMDb circuit breaker {} -> {} (failureRate={}%, slowCallRate={}%)",
+                state, newState, rate(failures), rate(slowCalls));
+        state = newState;
+        switch (newState) {
+            case OPEN -> openedAt = System.nanoTime();
+            case HALF_OPEN -> {
+                halfOpenPermits = halfOpenCalls;
+                halfOpenSuccesses = 0;
+            }
+            case CLOSED -> {
+                recordedCalls = 0;
+                nextSlot = 0;
+            }
+        }
+    }
+}
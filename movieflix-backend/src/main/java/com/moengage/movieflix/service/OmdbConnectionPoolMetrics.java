@@ -0,0 +1,66 @@
+package com.moengage.movieflix.service;
+
+import org.springframework.stereotype.Component;
+import reactor.netty.resources.ConnectionPoolMetrics;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.SocketAddress;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * Metrics for the OMDb connection pool
+ * Receives pool gauges from Reactor Netty and records how long requests wait
+ * for a ready connection (pool acquire plus connect for new connections)
+ */
+@Component
+public class OmdbConnectionPoolMetrics implements ConnectionProvider.MeterRegistrar {
+
+    private final Map<String, ConnectionPoolMetrics> pools = new ConcurrentHashMap<>();
+    private final AtomicLong acquireCount = new AtomicLong();
+    private final AtomicLong acquireTotalNanos = new AtomicLong();
+    private final LongAccumulator acquireMaxNanos = new LongAccumulator(Math::max, 0);
+
+    @Override
+    public void registerMetrics(String poolName, String id, SocketAddress remoteAddress, ConnectionPoolMetrics metrics) {
+        pools.put(poolName + "@" + remoteAddress, metrics);
+    }
+
+    @Override
+    public void deRegisterMetrics(String poolName, String id, SocketAddress remoteAddress) {
+        pools.remove(poolName + "@" + remoteAddress);
+    }
+
+    public void recordAcquireLatency(long nanos) {
+        acquireCount.incrementAndGet();
+        acquireTotalNanos.addAndGet(nanos);
+        acquireMaxNanos.accumulate(nanos);
+    }
+
+    public Map<String, Object> getStats() {
+        int active = 0;
+        int idle = 0;
+        int pending = 0;
+        int total = 0;
+        for (ConnectionPoolMetrics metrics : pools.values()) {
+            active += metrics.acquiredSize();
+            idle += metrics.idleSize();
+            pending += metrics.pendingAcquireSize();
+            total += metrics.allocatedSize();
+        }
+
+        long count = acquireCount.get();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("activeConnections", active);
+        stats.put("idleConnections", idle);
+        stats.put("pendingAcquires", pending);
+        stats.put("totalConnections", total);
+        stats.put("acquireCount", count);
+        stats.put("acquireAvgMs", count > 0 ? acquireTotalNanos.get() / count / 1_000_000.0 : 0.0);
+        stats.put("acquireMaxMs", acquireMaxNanos.get() / 1_000_000.0);
+        return stats;
+    }
+}
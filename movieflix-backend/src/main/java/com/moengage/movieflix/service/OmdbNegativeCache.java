@@ -0,0 +1,94 @@
+package com.moengage.movieflix.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Short-lived memory of OMDb "not found" answers
+ * Repeated typos and bogus imdbIds are answered locally instead of hitting OMDb again
+ */
+@Component
+@Slf4j
+public class OmdbNegativeCache {
+
+    private final Cache<String, String> cache;
+
+    public OmdbNegativeCache(
+            @Value("${app.omdb.negative-cache.max-size:5000}") long maxSize,
+            @Value("${app.omdb.negative-cache.ttl-minutes:15}") long ttlMinutes
+    ) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .recordStats()
+                .build();
+    }
+
+    public boolean isEmptySearch(String query, int page) {
+        return isCached(searchKey(query, page));
+    }
+
+    public void recordEmptySearch(String query, int page, String error) {
+        record(searchKey(query, page), error);
+    }
+
+    public boolean isMissingMovie(String imdbId) {
+        return isCached(movieKey(imdbId));
+    }
+
+    public void recordMissingMovie(String imdbId, String error) {
+        record(movieKey(imdbId), error);
+    }
+
+    public long clear() {
+        long size = cache.estimatedSize();
+        cache.invalidateAll();
+        log.info("Cleared {} entries from OMDb negative cache", size);
+        return size;
+    }
+
+    public Map<String, Object> getStats() {
+        CacheStats stats = cache.stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("size", cache.estimatedSize());
+        result.put("hits", stats.hitCount());
+        result.put("misses", stats.missCount());
+        return result;
+    }
+
+    private boolean isCached(String key) {
+        String error = cache.getIfPresent(key);
+        if (error != null) {
+            log.debug("Negative cache hit for {}: {}", key, error);
+            return true;
+        }
+        return false;
+    }
+
+    private void record(String key, String error) {
+        // Only remember answers about the query itself, not account problems like a bad key or exhausted limit
+        String reason = error != null ? error : "No result";
+        String lowerReason = reason.toLowerCase(Locale.ROOT);
+        if (lowerReason.contains("api key") || lowerReason.contains("limit")) {
+            return;
+        }
+        cache.put(key, reason);
+    }
+
+    private String searchKey(String query, int page) {
+        return "search:" + query.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT) + ":" + page;
+    }
+
+    private String movieKey(String imdbId) {
+        return "movie:" + imdbId.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,118 @@
+package com.moengage.movieflix.service;
+
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.Refill;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Shared budget for outgoing OMDb requests
+ * Tracks the daily quota and a per-second limit, and keeps part of the daily
+ * quota in reserve for higher priority requests
+ */
+@Component
+@Slf4j
+public class OmdbQuotaGovernor {
+
+    public enum Priority {
+        INTERACTIVE, // detail fetch for a user waiting on a single movie
+        SEARCH,      // user search ingesting new results
+        PREFETCH     // background refresh and startup warm-up
+    }
+
+    private final Bucket dailyBucket;
+    private final Bucket perSecondBucket;
+    private final long dailyLimit;
+    private final long perSecondLimit;
+    private final Map<Priority, Long> dailyReserve = new EnumMap<>(Priority.class);
+    private final Map<Priority, AtomicLong> granted = new EnumMap<>(Priority.class);
+    private final Map<Priority, AtomicLong> denied = new EnumMap<>(Priority.class);
+    private final long maxWaitNanos;
+
+    public OmdbQuotaGovernor(
+            @Value("${app.omdb.quota.daily-limit:1000}") long dailyLimit,
+            @Value("${app.omdb.quota.per-second:5}") long perSecondLimit,
+            @Value("${app.omdb.quota.search-reserve:100}") long searchReserve,
+            @Value("${app.omdb.quota.prefetch-reserve:300}") long prefetchReserve,
+            @Value("${app.omdb.quota.max-wait-ms:1000}") long maxWaitMs
+    ) {
+        this.dailyLimit = dailyLimit;
+        this.perSecondLimit = perSecondLimit;
+        this.dailyBucket = Bucket.builder()
+                .addLimit(Bandwidth.classic(dailyLimit, Refill.intervally(dailyLimit, Duration.ofDays(1))))
+                .build();
+        this.perSecondBucket = Bucket.builder()
+                .addLimit(Bandwidth.classic(perSecondLimit, Refill.greedy(perSecondLimit, Duration.ofSeconds(1))))
+                .build();
+        this.maxWaitNanos = Duration.ofMillis(maxWaitMs).toNanos();
+
+        dailyReserve.put(Priority.INTERACTIVE, 0L);
+        dailyReserve.put(Priority.SEARCH, searchReserve);
+        dailyReserve.put(Priority.PREFETCH, prefetchReserve);
+        for (Priority priority : Priority.values()) {
+            granted.put(priority, new AtomicLong());
+            denied.put(priority, new AtomicLong());
+        }
+    }
+
+    /**
+     * Reserve budget for one OMDb request.
+     * Returns how long the caller must wait before sending it, or empty when the
+     * request should not be sent and the caller should answer from cache instead.
+     */
+    public Optional<Duration> reserve(Priority priority) {
+        if (dailyBucket.getAvailableTokens() <= dailyReserve.get(priority)) {
+            return deny(priority, "daily quota reserved for higher priority requests");
+        }
+
+        long waitNanos = perSecondBucket.consumeIgnoringRateLimits(1);
+        if (waitNanos > maxWaitNanos) {
+            perSecondBucket.addTokens(1);
+            return deny(priority, "per-second limit reached");
+        }
+
+        if (!dailyBucket.tryConsume(1)) {
+            perSecondBucket.addTokens(1);
+            return deny(priority, "daily quota exhausted");
+        }
+
+        granted.get(priority).incrementAndGet();
+        return Optional.of(Duration.ofNanos(waitNanos));
+    }
+
+    public long getRemainingDailyBudget() {
+        return dailyBucket.getAvailableTokens();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("dailyLimit", dailyLimit);
+        stats.put("dailyRemaining", getRemainingDailyBudget());
+        stats.put("perSecondLimit", perSecondLimit);
+        Map<String, Long> grantedStats = new LinkedHashMap<>();
+        Map<String, Long> deniedStats = new LinkedHashMap<>();
+        for (Priority priority : Priority.values()) {
+            grantedStats.put(priority.name(), granted.get(priority).get());
+            deniedStats.put(priority.name(), denied.get(priority).get());
+        }
+        stats.put("granted", grantedStats);
+        stats.put("denied", deniedStats);
+        return stats;
+    }
+
+    private Optional<Duration> deny(Priority priority, String reason) {
+        denied.get(priority).incrementAndGet();
+        log.warn("OMDb request denied for {} priority: {} (daily remaining={})",
+                priority, reason, dailyBucket.getAvailableTokens());
+        return Optional.empty();
+    }
+}
@@ -1,28 +1,85 @@
 package com.moengage.movieflix.specification;
 
 import com.moengage.movieflix.entity.Movie;
+import com.moengage.movieflix.entity.MovieGenres;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
 import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 public class MovieSpecification {
 
+    private static final char LIKE_ESCAPE = '\\';
+
+    /**
+     * Substring match on the normalized title column. The column is stored
+     * normalized, so no function is applied to it and PostgreSQL can answer
+     * the LIKE from the trigram index.
+     */
     public static Specification<Movie> titleContains(String title) {
         return (root, query, criteriaBuilder) -> 
             criteriaBuilder.like(
-                criteriaBuilder.lower(root.get("title")), 
-                "%" + title.toLowerCase() + "%"
+                root.get("normalizedTitle"),
+                "%" + escapeLike(Movie.normalizeTitle(title)) + "%",
+                LIKE_ESCAPE
             );
     }
 
-    public static Specification<Movie> hasGenres(List<String> genres) {
+    /**
+     * Genre filter as one bitwise predicate on genre_mask: any-of needs a common
+     * bit, all-of needs every requested bit. Genres outside {@link MovieGenres}
+     * have no bit and are matched with an EXISTS on movie_genres instead; unlike
+     * a join neither form repeats a movie once per matching genre.
+     * No index can serve the bitand, so the mask is checked on the rows the other
+     * filters leave (or by scanning the narrow column when it is the only one).
+     */
+    public static Specification<Movie> hasGenres(List<String> genres, boolean matchAll) {
         return (root, query, criteriaBuilder) -> {
-            Join<Object, Object> genreJoin = root.join("genre");
-            return genreJoin.in(genres);
+            long mask = MovieGenres.maskOf(genres);
+            List<String> unknown = genres.stream().filter(genre -> !MovieGenres.isKnown(genre)).distinct().toList();
+
+            List<Predicate> predicates = new ArrayList<>();
+            if (mask != 0L) {
+                Expression<Long> common = criteriaBuilder.function("bitand", Long.class,
+                        root.get("genreMask"), criteriaBuilder.literal(mask));
+                predicates.add(matchAll
+                        ? criteriaBuilder.equal(common, mask)
+                        : criteriaBuilder.notEqual(common, 0L));
+            }
+            if (matchAll) {
+                unknown.forEach(genre -> predicates.add(hasGenreRow(root, query, criteriaBuilder, List.of(genre))));
+                return criteriaBuilder.and(predicates.toArray(Predicate[]::new));
+            }
+            if (!unknown.isEmpty()) {
+                predicates.add(hasGenreRow(root, query, criteriaBuilder, unknown));
+            }
+            return criteriaBuilder.or(predicates.toArray(Predicate[]::new));
         };
     }
 
+    private static Predicate hasGenreRow(Root<Movie> root, CriteriaQuery<?> query,
+                                         CriteriaBuilder criteriaBuilder, List<String> genres) {
+        Subquery<Integer> subquery = query.subquery(Integer.class);
+        Root<Movie> movie = subquery.correlate(root);
+        Join<Movie, String> genreJoin = movie.join("genre");
+        subquery.select(criteriaBuilder.literal(1)).where(genreJoin.in(genres));
+        return criteriaBuilder.exists(subquery);
+    }
+
+    public static Specification<Movie> imdbIdIn(Collection<String> imdbIds) {
+        return (root, query, criteriaBuilder) -> root.get("imdbId").in(imdbIds);
+    }
+
     public static Specification<Movie> yearGreaterThanOrEqual(Integer year) {
         return (root, query, criteriaBuilder) -> 
             criteriaBuilder.greaterThanOrEqualTo(root.get("year"), year);
@@ -37,5 +94,51 @@ public class MovieSpecification {
         return (root, query, criteriaBuilder) -> 
             criteriaBuilder.greaterThanOrEqualTo(root.get("imdbRating"), rating);
     }
-}
 
+    /**
+     * Keyset ordering: the sort field, then imdbId in the same direction as tie-breaker.
+     * Nulls order as the lowest values on every database, matching {@link #after}.
+     */
+    public static Specification<Movie> orderedBy(String field, boolean ascending) {
+        return (root, query, criteriaBuilder) -> {
+            HibernateCriteriaBuilder hcb = (HibernateCriteriaBuilder) criteriaBuilder;
+            Expression<?> key = root.get(field);
+            Expression<?> imdbId = root.get("imdbId");
+            query.orderBy(ascending
+                    ? List.of(hcb.asc(key, true), hcb.asc(imdbId))
+                    : List.of(hcb.desc(key, false), hcb.desc(imdbId)));
+            return null;
+        };
+    }
+
+    /**
+     * Rows after the cursor position in {@link #orderedBy} order
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static Specification<Movie> after(String field, boolean ascending, Object value, String lastImdbId) {
+        return (root, query, criteriaBuilder) -> {
+            Path key = root.get(field);
+            Path<String> imdbId = root.get("imdbId");
+            Predicate sameKeyAfterId = ascending
+                    ? criteriaBuilder.greaterThan(imdbId, lastImdbId)
+                    : criteriaBuilder.lessThan(imdbId, lastImdbId);
+
+            if (value == null) {
+                // Nulls come first ascending (then every non-null key) and last descending
+                Predicate nullAfterId = criteriaBuilder.and(criteriaBuilder.isNull(key), sameKeyAfterId);
+                return ascending ? criteriaBuilder.or(nullAfterId, criteriaBuilder.isNotNull(key)) : nullAfterId;
+            }
+
+            Comparable comparableValue = (Comparable) value;
+            Predicate sameKey = criteriaBuilder.and(criteriaBuilder.equal(key, comparableValue), sameKeyAfterId);
+            if (ascending) {
+                return criteriaBuilder.or(criteriaBuilder.greaterThan(key, comparableValue), sameKey);
+            }
+            return criteriaBuilder.or(criteriaBuilder.lessThan(key, comparableValue), sameKey, criteriaBuilder.isNull(key));
+        };
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
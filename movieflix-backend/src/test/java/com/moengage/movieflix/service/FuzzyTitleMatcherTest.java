@@ -0,0 +1,103 @@
+package com.moengage.movieflix.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static com.moengage.movieflix.service.MovieFixtures.enabled;
+import static com.moengage.movieflix.service.MovieFixtures.movie;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FuzzyTitleMatcherTest {
+
+    private FuzzyTitleMatcher matcher;
+
+    @BeforeEach
+    void createMatcher() {
+        matcher = enabled(FuzzyTitleMatcher::new);
+        matcher.index(List.of(
+                movie("tt01", "Interstellar").build(),
+                movie("tt02", "Heist").build(),
+                movie("tt03", "The Matrix").build(),
+                movie("tt04", "The Matrix Reloaded").build()
+        ));
+    }
+
+    @Test
+    void editDistanceCountsAdjacentSwapsAsOneEdit() {
+        assertThat(FuzzyTitleMatcher.editDistance("matrix", "matrix", 2)).isZero();
+        assertThat(FuzzyTitleMatcher.editDistance("matrix", "matrux", 2)).isEqualTo(1);
+        assertThat(FuzzyTitleMatcher.editDistance("matrix", "matix", 2)).isEqualTo(1);
+        assertThat(FuzzyTitleMatcher.editDistance("matrix", "matrixx", 2)).isEqualTo(1);
+        assertThat(FuzzyTitleMatcher.editDistance("matrix", "mtarix", 2)).isEqualTo(1);
+        assertThat(FuzzyTitleMatcher.editDistance("", "abc", 5)).isEqualTo(3);
+        // Optimal string alignment does not edit a swapped pair again, unlike full Damerau-Levenshtein
+        assertThat(FuzzyTitleMatcher.editDistance("ca", "abc", 5)).isEqualTo(3);
+    }
+
+    @Test
+    void editDistanceCutOffOnlyAffectsDistancesPastTheLimit() {
+        Random random = new Random(42);
+        for (int run = 0; run < 2000; run++) {
+            String a = randomWord(random);
+            String b = randomWord(random);
+            int exact = referenceDistance(a, b);
+            for (int limit = 0; limit <= 3; limit++) {
+                int distance = FuzzyTitleMatcher.editDistance(a, b, limit);
+                if (exact <= limit) {
+                    assertThat(distance).as("%s/%s limit %d", a, b, limit).isEqualTo(exact);
+                } else {
+                    assertThat(distance).as("%s/%s limit %d", a, b, limit).isGreaterThan(limit);
+                }
+            }
+        }
+    }
+
+    @Test
+    void correctsUnknownWordsToTheNearestTitleWord() {
+        assertThat(matcher.correct("intersteller")).isEqualTo("interstellar");
+        assertThat(matcher.correct("the matirx")).isEqualTo("the matrix");
+        assertThat(matcher.correct("hiest")).isEqualTo("heist");
+        assertThat(matcher.correct("matrix reloaded")).isNull();
+        assertThat(matcher.correct("zzzzzz")).isNull();
+    }
+
+    @Test
+    void forgetsWordsOfRemovedTitles() {
+        matcher.remove(List.of("tt04"));
+
+        assertThat(matcher.correct("reloadd")).isNull();
+        assertThat(matcher.correct("matrx")).isEqualTo("matrix");
+    }
+
+    private static String randomWord(Random random) {
+        char[] word = new char[random.nextInt(7)];
+        for (int i = 0; i < word.length; i++) {
+            word[i] = (char) ('a' + random.nextInt(3));
+        }
+        return new String(word);
+    }
+
+    // Full optimal string alignment matrix, without the early exit
+    private static int referenceDistance(String a, String b) {
+        int[][] d = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++) {
+            d[i][0] = i;
+        }
+        for (int j = 0; j <= b.length(); j++) {
+            d[0][j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                d[i][j] = Math.min(Math.min(d[i - 1][j] + 1, d[i][j - 1] + 1), d[i - 1][j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    d[i][j] = Math.min(d[i][j], d[i - 2][j - 2] + 1);
+                }
+            }
+        }
+        return d[a.length()][b.length()];
+    }
+}
@@ -0,0 +1,149 @@
+package com.moengage.movieflix.service;
+
+import com.moengage.movieflix.dto.MovieSearchRequest;
+import com.moengage.movieflix.entity.Movie;
+import com.moengage.movieflix.repository.MovieRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.moengage.movieflix.service.MovieFixtures.enabled;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MovieColumnStoreTest {
+
+    private static final MovieSearchRequest ALL = MovieSearchRequest.builder().build();
+
+    private final MovieRepository movieRepository = mock(MovieRepository.class);
+    private MovieColumnStore store;
+
+    // Ties on rating (8.0 three times) and year (1999 twice), one movie without rating or year
+    private final List<Movie> movies = List.of(
+            movie("tt05", 1999, 8.0, "Action", "Sci-Fi"),
+            movie("tt03", 2010, 8.0, "Drama"),
+            movie("tt01", 1994, 9.3, "Drama"),
+            movie("tt04", 1999, 8.0, "Comedy", "Drama"),
+            movie("tt02", 2008, 9.0, "Action", "Crime", "Drama"),
+            movie("tt06", null, null, "Action"),
+            movie("tt07", 2001, 7.5, "Comedy")
+    );
+
+    @BeforeEach
+    void buildStore() {
+        store = enabled(MovieColumnStore::new, movieRepository);
+        when(movieRepository.findAll(any(Pageable.class))).thenReturn(new PageImpl<>(movies));
+        store.rebuild();
+    }
+
+    @Test
+    void ordersByRatingWithTiesByImdbIdAndNullsLowest() {
+        assertThat(scan(ALL, "imdbRating", false, null, 0, 10).imdbIds())
+                .containsExactly("tt01", "tt02", "tt05", "tt04", "tt03", "tt07", "tt06");
+        assertThat(scan(ALL, "imdbRating", true, null, 0, 10).imdbIds())
+                .containsExactly("tt06", "tt07", "tt03", "tt04", "tt05", "tt02", "tt01");
+    }
+
+    @Test
+    void offsetPagesFromTheBoundedHeapMatchTheFullOrder() {
+        List<String> full = scan(ALL, "year", true, null, 0, 10).imdbIds();
+
+        List<String> paged = new ArrayList<>();
+        for (int offset = 0; offset < movies.size(); offset += 2) {
+            MovieColumnStore.ScanResult page = scan(ALL, "year", true, null, offset, 2);
+            assertThat(page.total()).isEqualTo(movies.size());
+            assertThat(page.hasNext()).isEqualTo(offset + 2 < movies.size());
+            paged.addAll(page.imdbIds());
+        }
+
+        assertThat(paged).isEqualTo(full)
+                .containsExactly("tt06", "tt01", "tt04", "tt05", "tt07", "tt02", "tt03");
+    }
+
+    @Test
+    void cursorContinuesAcrossTiesWithoutRepeatsOrGaps() {
+        Map<String, Movie> byImdbId = movies.stream().collect(Collectors.toMap(Movie::getImdbId, Function.identity()));
+        for (String field : List.of("imdbRating", "year", "runtime", "cachedAt")) {
+            for (boolean ascending : List.of(true, false)) {
+                List<String> full = scan(ALL, field, ascending, null, 0, 10).imdbIds();
+
+                List<String> walked = new ArrayList<>();
+                MovieCursor cursor = null;
+                MovieColumnStore.ScanResult page;
+                do {
+                    // A large offset must be ignored once a cursor is given
+                    page = scan(ALL, field, ascending, cursor, cursor != null ? 100 : 0, 2);
+                    walked.addAll(page.imdbIds());
+                    String last = page.imdbIds().get(page.imdbIds().size() - 1);
+                    cursor = MovieCursor.after(byImdbId.get(last), field, ascending);
+                } while (page.hasNext());
+
+                assertThat(walked).as("%s %s", field, ascending ? "asc" : "desc").isEqualTo(full);
+            }
+        }
+    }
+
+    @Test
+    void filtersOnGenreMaskForAnyAndAllGenres() {
+        MovieSearchRequest anyOf = MovieSearchRequest.builder().genres(List.of("Action", "Comedy")).build();
+        assertThat(scan(anyOf, "imdbRating", false, null, 0, 10).imdbIds())
+                .containsExactly("tt02", "tt05", "tt04", "tt07", "tt06");
+
+        MovieSearchRequest allOf = MovieSearchRequest.builder()
+                .genres(List.of("Action", "Drama")).genreMatch("all").build();
+        MovieColumnStore.ScanResult result = scan(allOf, "imdbRating", false, null, 0, 10);
+        assertThat(result.imdbIds()).containsExactly("tt02");
+        assertThat(result.total()).isEqualTo(1);
+    }
+
+    @Test
+    void filtersOnYearAndRatingLikeSqlWithNulls() {
+        MovieSearchRequest request = MovieSearchRequest.builder().minYear(1999).maxYear(2008).minRating(8.0).build();
+        assertThat(scan(request, "year", true, null, 0, 10).imdbIds())
+                .containsExactly("tt04", "tt05", "tt02");
+    }
+
+    @Test
+    void declinesTitleSortsAndUnknownGenres() {
+        assertThat(scan(ALL, "title", true, null, 0, 10)).isNull();
+        MovieSearchRequest unknownGenre = MovieSearchRequest.builder().genres(List.of("Anime")).build();
+        assertThat(scan(unknownGenre, "year", true, null, 0, 10)).isNull();
+    }
+
+    @Test
+    void removedMoviesDropOutAndTheirSlotsAreReused() {
+        store.remove(List.of("tt01", "tt02"));
+        store.index(List.of(movie("tt08", 1980, 9.9, "Drama"), movie("tt04", 1999, 6.0, "Drama")));
+
+        MovieColumnStore.ScanResult result = scan(ALL, "imdbRating", false, null, 0, 10);
+        assertThat(result.imdbIds()).containsExactly("tt08", "tt05", "tt03", "tt07", "tt04", "tt06");
+        assertThat(result.total()).isEqualTo(6);
+        assertThat(store.getStats()).containsEntry("slots", movies.size());
+    }
+
+    private MovieColumnStore.ScanResult scan(MovieSearchRequest request, String field, boolean ascending,
+                                             MovieCursor cursor, long offset, int limit) {
+        return store.scan(request, field, ascending, cursor, offset, limit, false);
+    }
+
+    private static Movie movie(String imdbId, Integer year, Double rating, String... genres) {
+        int number = Integer.parseInt(imdbId.substring(2));
+        return MovieFixtures.movie(imdbId, "Movie " + number)
+                .year(year)
+                .imdbRating(rating)
+                .runtime(year != null ? 90 + year % 7 : null)
+                .genre(List.of(genres))
+                .cachedAt(LocalDateTime.of(2024, 1, 1, 12, 0).plusNanos(number % 3 * 1_000))
+                .build();
+    }
+}
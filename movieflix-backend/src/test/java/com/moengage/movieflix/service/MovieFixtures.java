@@ -0,0 +1,43 @@
+package com.moengage.movieflix.service;
+
+import com.moengage.movieflix.entity.Movie;
+import com.moengage.movieflix.repository.MovieRepository;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.function.BiFunction;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Shared setup for the tests of the in-memory search structures
+ */
+final class MovieFixtures {
+
+    private MovieFixtures() {
+    }
+
+    /**
+     * A movie with only its imdbId and title; tests add the attributes they exercise
+     */
+    static Movie.MovieBuilder movie(String imdbId, String title) {
+        return Movie.builder().imdbId(imdbId).title(title);
+    }
+
+    /**
+     * An enabled structure over a mock repository, e.g. {@code enabled(MovieSearchIndex::new)}
+     */
+    static <T> T enabled(BiFunction<MovieRepository, PlatformTransactionManager, T> constructor) {
+        return enabled(constructor, mock(MovieRepository.class));
+    }
+
+    /**
+     * An enabled structure over the given repository, for tests that rebuild from it
+     */
+    static <T> T enabled(BiFunction<MovieRepository, PlatformTransactionManager, T> constructor,
+                         MovieRepository movieRepository) {
+        T structure = constructor.apply(movieRepository, mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(structure, "enabled", true);
+        return structure;
+    }
+}
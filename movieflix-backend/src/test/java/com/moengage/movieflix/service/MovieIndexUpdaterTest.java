@@ -0,0 +1,77 @@
+package com.moengage.movieflix.service;
+
+import com.moengage.movieflix.entity.Movie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.List;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class MovieIndexUpdaterTest {
+
+    private final MovieSearchIndex movieSearchIndex = mock(MovieSearchIndex.class);
+    private final MovieSuggestIndex movieSuggestIndex = mock(MovieSuggestIndex.class);
+    private final MovieColumnStore movieColumnStore = mock(MovieColumnStore.class);
+    private final FuzzyTitleMatcher fuzzyTitleMatcher = mock(FuzzyTitleMatcher.class);
+    private final MovieCountCache movieCountCache = mock(MovieCountCache.class);
+    private final MovieSearchIdCache movieSearchIdCache = mock(MovieSearchIdCache.class);
+
+    private final MovieIndexUpdater updater = new MovieIndexUpdater(movieSearchIndex, movieSuggestIndex,
+            movieColumnStore, fuzzyTitleMatcher, movieCountCache, movieSearchIdCache,
+            new ConcurrentMapCacheManager("movies"));
+
+    private final List<Movie> movies = List.of(MovieFixtures.movie("tt01", "Heat").build());
+
+    @AfterEach
+    void endSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void appliesChangesRightAwayOutsideATransaction() {
+        updater.stored(movies);
+
+        verify(movieSearchIndex).index(movies);
+        verify(movieColumnStore).index(movies);
+        verify(movieSearchIdCache).clear();
+    }
+
+    @Test
+    void appliesChangesOnlyOnceTheTransactionCommits() {
+        TransactionSynchronizationManager.initSynchronization();
+        updater.stored(movies);
+        updater.removed(List.of("tt02"));
+
+        verifyNoInteractions(movieSearchIndex, movieSuggestIndex, movieColumnStore, fuzzyTitleMatcher,
+                movieCountCache, movieSearchIdCache);
+
+        TransactionSynchronizationUtils.triggerAfterCommit();
+
+        verify(movieSearchIndex).index(movies);
+        verify(movieSuggestIndex).remove(List.of("tt02"));
+        verify(fuzzyTitleMatcher).remove(List.of("tt02"));
+        verify(movieCountCache, times(2)).clear();
+    }
+
+    @Test
+    void leavesIndexesAloneWhenTheTransactionRollsBack() {
+        TransactionSynchronizationManager.initSynchronization();
+        updater.removed(List.of("tt01"));
+        updater.cleared();
+
+        TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        verifyNoInteractions(movieSearchIndex, movieSuggestIndex, movieColumnStore, fuzzyTitleMatcher,
+                movieCountCache, movieSearchIdCache);
+    }
+}
@@ -0,0 +1,40 @@
+package com.moengage.movieflix.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MovieSearchIdCacheTest {
+
+    private final MovieSearchIdCache cache = new MovieSearchIdCache(3, 100, 600);
+
+    @Test
+    void keepsIdsReadInTheCurrentGeneration() {
+        long generation = cache.generation();
+        cache.put("q", generation, List.of("tt1", "tt2"), null);
+
+        assertThat(cache.get("q").imdbIds()).containsExactly("tt1", "tt2");
+    }
+
+    @Test
+    void dropsIdsReadBeforeAClear() {
+        long generation = cache.generation();
+        cache.clear();
+
+        MovieSearchIdCache.SearchIds ids = cache.put("q", generation, List.of("tt1"), null);
+
+        // The caller still pages through what it read, but nobody else is served it
+        assertThat(ids.imdbIds()).containsExactly("tt1");
+        assertThat(cache.get("q")).isNull();
+    }
+
+    @Test
+    void marksSearchesWithTooManyIds() {
+        cache.put("q", cache.generation(), List.of("tt1", "tt2", "tt3", "tt4"), "corrected");
+
+        assertThat(cache.get("q").imdbIds()).isNull();
+        assertThat(cache.get("q").correctedSearch()).isEqualTo("corrected");
+    }
+}
@@ -0,0 +1,149 @@
+package com.moengage.movieflix.service;
+
+import com.moengage.movieflix.dto.MovieSearchRequest;
+import com.moengage.movieflix.entity.Movie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static com.moengage.movieflix.service.MovieFixtures.enabled;
+import static com.moengage.movieflix.service.MovieFixtures.movie;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MovieSearchIndexTest {
+
+    private static final MovieSearchRequest NO_FILTERS = MovieSearchRequest.builder().build();
+
+    private MovieSearchIndex index;
+
+    @BeforeEach
+    void createIndex() {
+        index = enabled(MovieSearchIndex::new);
+        ReflectionTestUtils.setField(index, "compactRatio", 0.25);
+    }
+
+    @Test
+    void ranksTitleMatchesAboveDirectorActorAndPlotMatches() {
+        index.index(List.of(
+                movie("tt01", "Quiet Days")
+                        .director("Nolan").actors(List.of("Ann Lee")).plot("A heist in the rain").build(),
+                movie("tt02", "Heist")
+                        .director("Mann").actors(List.of("Bo Kim")).plot("Nothing happens").build(),
+                movie("tt03", "Lost Roads")
+                        .director("Heist Director").actors(List.of("Cy Fox")).plot("A road trip").build()
+        ));
+
+        assertThat(imdbIds("heist")).containsExactly("tt02", "tt03", "tt01");
+        assertThat(imdbIds("kim")).containsExactly("tt02");
+        assertThat(imdbIds("unknown")).isEmpty();
+    }
+
+    @Test
+    void decodesMultiByteDocIdDeltasAndTermFrequencies() {
+        List<Movie> movies = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            movies.add(movie(String.format("tt%03d", i), "Filler " + i).build());
+        }
+        // Doc ids 0 and 299 give a delta past one varint byte; 50 title tokens weigh 150, past one byte too
+        movies.set(0, movie("tt000", "Echo").build());
+        movies.set(299, movie("tt299", String.join(" ", Collections.nCopies(50, "echo"))).build());
+        index.index(movies);
+
+        List<MovieSearchIndex.Hit> hits = index.search("echo", NO_FILTERS);
+        assertThat(hits).extracting(MovieSearchIndex.Hit::imdbId).containsExactly("tt299", "tt000");
+        assertThat(hits.get(0).score()).isGreaterThan(hits.get(1).score());
+        assertThat(imdbIds("filler")).hasSize(298);
+    }
+
+    @Test
+    void hidesRemovedMoviesBeforeCompaction() {
+        index.index(numbered(10));
+        index.remove(List.of("tt04"));
+
+        assertThat(imdbIds("shared")).hasSize(9).doesNotContain("tt04");
+        assertThat(imdbIds("title4")).isEmpty();
+        assertThat(index.getStats()).containsEntry("tombstones", 1).containsEntry("movies", 9);
+    }
+
+    @Test
+    void compactionRemapsPostingsToTheRemainingMovies() {
+        index.index(numbered(8));
+        // The first doc id, one in the middle and the last: 3 of 8 is past the 0.25 ratio
+        index.remove(List.of("tt00", "tt03", "tt07"));
+
+        assertThat(index.getStats()).containsEntry("tombstones", 0).containsEntry("movies", 5);
+        for (int i = 0; i < 8; i++) {
+            List<String> expected = i == 0 || i == 3 || i == 7 ? List.of() : List.of(String.format("tt%02d", i));
+            assertThat(imdbIds("title" + i)).as("title%d", i).isEqualTo(expected);
+            assertThat(imdbIds("plot" + i % 2)).doesNotContain("tt00", "tt03", "tt07");
+        }
+        assertThat(imdbIds("shared")).containsExactlyInAnyOrder("tt01", "tt02", "tt04", "tt05", "tt06");
+        // Terms only removed movies had are dropped
+        assertThat(index.getStats()).containsEntry("terms", 1 + 5 + 2);
+    }
+
+    @Test
+    void reindexingAMovieReplacesItsTerms() {
+        index.index(numbered(4));
+        index.index(List.of(movie("tt02", "Renamed").build()));
+
+        assertThat(imdbIds("title2")).isEmpty();
+        assertThat(imdbIds("renamed")).containsExactly("tt02");
+        assertThat(imdbIds("shared")).containsExactlyInAnyOrder("tt00", "tt01", "tt03");
+    }
+
+    @Test
+    void removedMoviesDoNotCountTowardsTermFrequencyBeforeCompaction() {
+        ReflectionTestUtils.setField(index, "compactRatio", 100.0);
+        List<Movie> movies = List.of(
+                movie("tt01", "Heist").build(),
+                movie("tt02", "Heist Heist").build(),
+                movie("tt03", "Quiet Days").build());
+        index.index(movies);
+        // Each re-index leaves a tombstoned "heist" posting behind
+        for (int i = 0; i < 10; i++) {
+            index.index(List.of(movies.get(0)));
+        }
+        assertThat(index.getStats()).containsEntry("tombstones", 10);
+
+        MovieSearchIndex fresh = enabled(MovieSearchIndex::new);
+        fresh.index(movies);
+
+        List<MovieSearchIndex.Hit> hits = index.search("heist", NO_FILTERS);
+        assertThat(hits).extracting(MovieSearchIndex.Hit::imdbId).containsExactly("tt02", "tt01");
+        assertThat(hits).allSatisfy(hit -> assertThat(hit.score()).isPositive());
+        assertThat(hits).isEqualTo(fresh.search("heist", NO_FILTERS));
+    }
+
+    @Test
+    void filtersAndSortsHitsByIndexedAttributes() {
+        List<Movie> movies = numbered(6);
+        for (int i = 0; i < movies.size(); i++) {
+            movies.get(i).setYear(2000 + (i * 7) % 6);
+            movies.get(i).setGenre(List.of(i % 2 == 0 ? "Drama" : "Comedy"));
+        }
+        index.index(movies);
+
+        MovieSearchRequest filters = MovieSearchRequest.builder()
+                .genres(List.of("Drama")).minYear(2001).sort("year").order("asc").build();
+        assertThat(index.search("shared", filters)).extracting(MovieSearchIndex.Hit::imdbId)
+                .containsExactly("tt02", "tt04");
+    }
+
+    private List<String> imdbIds(String query) {
+        return index.search(query, NO_FILTERS).stream().map(MovieSearchIndex.Hit::imdbId).toList();
+    }
+
+    // "Title<i> shared", with "plot0" or "plot1" as plot
+    private static List<Movie> numbered(int count) {
+        List<Movie> movies = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            movies.add(movie(String.format("tt%02d", i), "Title" + i + " Shared").plot("plot" + i % 2).build());
+        }
+        return movies;
+    }
+}
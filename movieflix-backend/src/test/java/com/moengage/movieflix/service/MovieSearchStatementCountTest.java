@@ -0,0 +1,155 @@
+package com.moengage.movieflix.service;
+
+import com.moengage.movieflix.entity.Movie;
+import com.moengage.movieflix.interceptor.QueryCountInterceptor;
+import com.moengage.movieflix.repository.MovieRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * A list page must cost the same number of SQL statements whatever its size,
+ * on every path searchMovies can take. The id cache keeps up to 100 ids here,
+ * so "alpha" (60 matches) is sliced from cached ids while "film" and the title
+ * sort (120 matches) are queried page by page.
+ */
+@SpringBootTest(properties = {
+        "app.warmup.enabled=false",
+        "app.search.background-refresh=false",
+        "app.search.id-cache.max-ids-per-search=100"
+})
+@AutoConfigureMockMvc
+class MovieSearchStatementCountTest {
+
+    private static final int[] SIZES = {1, 10, 50};
+
+    @MockBean
+    private OmdbApiService omdbApiService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MovieIngestionWriter movieIngestionWriter;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private MovieService movieService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private QueryCountInterceptor queryCountInterceptor;
+
+    @BeforeEach
+    void seedCatalog() {
+        if (movieRepository.count() > 0) {
+            return;
+        }
+        List<Movie> movies = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            movies.add(Movie.builder()
+                    .imdbId(String.format("tt%07d", i + 1))
+                    .title((i < 60 ? "Alpha Film " : "Beta Film ") + i)
+                    .year(1950 + i % 70)
+                    .imdbRating(1.0 + (i % 90) / 10.0)
+                    .runtime(80 + i)
+                    .director("Director " + i % 7)
+                    .actors(List.of("Actor " + i % 11, "Actor " + i % 13))
+                    .genre(List.of(i % 2 == 0 ? "Drama" : "Comedy", "Action"))
+                    .plot("Plot of film " + i)
+                    .cachedAt(LocalDateTime.now())
+                    .build());
+        }
+        movieIngestionWriter.upsert(movies);
+    }
+
+    static Stream<Arguments> paths() {
+        return Stream.of(
+                Arguments.of("column store", Map.of("sort", "rating"), false),
+                Arguments.of("search, id cache miss", Map.of("search", "alpha"), false),
+                Arguments.of("search, id cache hit", Map.of("search", "alpha"), true),
+                Arguments.of("search, too many ids to cache", Map.of("search", "film"), false),
+                Arguments.of("title sort, too many ids to cache", Map.of("sort", "title"), false),
+                Arguments.of("search index", Map.of("search", "alpha", "engine", "index"), false)
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("paths")
+    void fullRowsCostTheSameStatementsForEveryPageSize(String path, Map<String, String> params, boolean primed)
+            throws Exception {
+        assertSameStatementsForEverySize(path, params, primed);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("paths")
+    void sparseFieldsCostTheSameStatementsForEveryPageSize(String path, Map<String, String> params, boolean primed)
+            throws Exception {
+        Map<String, String> withFields = new LinkedHashMap<>(params);
+        withFields.put("fields", "title,year,genre");
+        assertSameStatementsForEverySize(path, withFields, primed);
+    }
+
+    private void assertSameStatementsForEverySize(String path, Map<String, String> params, boolean primed)
+            throws Exception {
+        // A user per run, so its requests stay within one user's search rate limit
+        String username = path + " " + params;
+        Map<Integer, Integer> statementsBySize = new LinkedHashMap<>();
+        for (int size : SIZES) {
+            movieService.evictSearchCaches();
+            if (primed) {
+                search(username, params, size);
+                // Only the search is primed; its rows are read again like on a cold page
+                cacheManager.getCache("movies").clear();
+            }
+            search(username, params, size);
+            statementsBySize.put(size, lastStatements());
+        }
+
+        assertThat(statementsBySize.values())
+                .as("statements per page size on %s: %s", path, statementsBySize)
+                .containsOnly(statementsBySize.get(SIZES[0]));
+    }
+
+    private void search(String username, Map<String, String> params, int size) throws Exception {
+        MockHttpServletRequestBuilder request = get("/api/movies")
+                .with(user(username))
+                .param("size", String.valueOf(size));
+        params.forEach(request::param);
+        mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.movies.length()").value(size));
+    }
+
+    @SuppressWarnings("unchecked")
+    private int lastStatements() {
+        Map<String, Object> endpoints = (Map<String, Object>) queryCountInterceptor.getStats().get("endpoints");
+        Map<String, Object> search = (Map<String, Object>) endpoints.get("GET /api/movies");
+        return (Integer) search.get("lastStatements");
+    }
+}
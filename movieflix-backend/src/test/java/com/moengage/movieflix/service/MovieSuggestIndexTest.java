@@ -0,0 +1,113 @@
+package com.moengage.movieflix.service;
+
+import com.moengage.movieflix.dto.MovieSuggestion;
+import com.moengage.movieflix.entity.Movie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.moengage.movieflix.service.MovieFixtures.enabled;
+import static com.moengage.movieflix.service.MovieFixtures.movie;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MovieSuggestIndexTest {
+
+    private MovieSuggestIndex index;
+
+    @BeforeEach
+    void createIndex() {
+        index = enabled(MovieSuggestIndex::new);
+    }
+
+    @Test
+    void suggestsFromEveryWordStartBestFirst() {
+        index.index(List.of(
+                movie("tt01", "The Dark Knight").imdbRating(9.0).imdbVotes("2,500,000")
+                        .director("Christopher Nolan").actors(List.of("Heath Ledger")).build(),
+                movie("tt02", "Knight and Day").imdbRating(6.3).imdbVotes("200,000")
+                        .director("James Mangold").actors(List.of("Tom Cruise")).build()
+        ));
+
+        assertThat(texts("knig")).containsExactly("The Dark Knight", "Knight and Day");
+        assertThat(texts("the d")).containsExactly("The Dark Knight");
+        assertThat(texts("nol")).containsExactly("Christopher Nolan");
+        assertThat(index.suggest("led", 10)).extracting(MovieSuggestion::getType).containsExactly("actor");
+    }
+
+    @Test
+    void removedMovieLeavesNoStaleSuggestionOnAnyPrefix() {
+        index.index(List.of(
+                movie("tt01", "Star Wars").imdbRating(8.6).imdbVotes("1,300,000")
+                        .director("George Lucas").actors(List.of("Mark Hamill")).build(),
+                movie("tt02", "Star Trek").imdbRating(7.9).imdbVotes("600,000")
+                        .director("J.J. Abrams").actors(List.of("Chris Pine")).build()
+        ));
+
+        index.remove(List.of("tt01"));
+
+        for (String key : List.of("star wars", "wars", "george lucas", "lucas", "mark hamill", "hamill")) {
+            for (int length = 1; length <= key.length(); length++) {
+                assertThat(texts(key.substring(0, length)))
+                        .as(key.substring(0, length))
+                        .doesNotContain("Star Wars", "George Lucas", "Mark Hamill");
+            }
+        }
+        assertThat(texts("s")).containsExactly("Star Trek");
+        assertThat(texts("w")).isEmpty();
+        assertThat(index.getStats()).containsEntry("movies", 1).containsEntry("people", 2);
+    }
+
+    @Test
+    void nextBestSuggestionMovesUpWhenATopOneIsRemoved() {
+        List<Movie> movies = new ArrayList<>();
+        for (int i = 0; i <= MovieSuggestIndex.MAX_SUGGESTIONS; i++) {
+            movies.add(movie(String.format("tt%02d", i), "Saga " + i)
+                    .imdbRating(9.0 - i * 0.5).imdbVotes("10,000").build());
+        }
+        index.index(movies);
+        assertThat(texts("sa")).hasSize(MovieSuggestIndex.MAX_SUGGESTIONS).doesNotContain("Saga 10");
+
+        index.remove(List.of("tt00", "tt04"));
+
+        assertThat(texts("sa")).containsExactly(
+                "Saga 1", "Saga 2", "Saga 3", "Saga 5", "Saga 6", "Saga 7", "Saga 8", "Saga 9", "Saga 10");
+    }
+
+    @Test
+    void personDropsToTheScoreOfTheirBestRemainingMovie() {
+        index.index(List.of(
+                movie("tt01", "Alpha").imdbRating(9.0).imdbVotes("1,000,000").director("Sam Hill").build(),
+                movie("tt02", "Beta").imdbRating(7.0).imdbVotes("1,000,000").director("Sara Jones").build(),
+                movie("tt03", "Gamma").imdbRating(5.0).imdbVotes("1,000,000").director("Sam Hill").build()
+        ));
+        assertThat(texts("sa")).containsExactly("Sam Hill", "Sara Jones");
+
+        index.remove(List.of("tt01"));
+
+        assertThat(texts("sa")).containsExactly("Sara Jones", "Sam Hill");
+        assertThat(texts("hill")).containsExactly("Sam Hill");
+
+        index.remove(List.of("tt03"));
+
+        assertThat(texts("sa")).containsExactly("Sara Jones");
+        assertThat(texts("hill")).isEmpty();
+    }
+
+    @Test
+    void reindexedMovieIsOnlyFoundUnderItsNewTitle() {
+        index.index(List.of(movie("tt01", "Old Name").imdbRating(8.0).imdbVotes("1,000").build()));
+        index.index(List.of(movie("tt01", "New Name").imdbRating(8.0).imdbVotes("1,000").build()));
+
+        assertThat(texts("old")).isEmpty();
+        assertThat(texts("name")).containsExactly("New Name");
+        assertThat(texts("new")).containsExactly("New Name");
+    }
+
+    private List<String> texts(String prefix) {
+        return index.suggest(prefix, MovieSuggestIndex.MAX_SUGGESTIONS).stream()
+                .map(MovieSuggestion::getText)
+                .toList();
+    }
+}
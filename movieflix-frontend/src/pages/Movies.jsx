@@ -1,4 +1,4 @@
-import { useState, useEffect } from 'react'
+import { useState, useEffect, useRef } from 'react'
 import { useNavigate, useLocation } from 'react-router-dom'
 import { Search, Filter, Star, Calendar, Edit, Download } from 'lucide-react'
 import { movieAPI } from '../services/api'
@@ -6,6 +6,9 @@ import { useAuthStore } from '../store/authStore'
 import EditMovieModal from '../components/EditMovieModal'
 import toast from 'react-hot-toast'
 
+// Only what the movie cards render; the edit form loads the full movie
+const LIST_FIELDS = 'title,year,poster,imdbRating,genre'
+
 export default function Movies() {
   const navigate = useNavigate()
   const location = useLocation()
@@ -13,11 +16,17 @@ export default function Movies() {
   const [movies, setMovies] = useState([])
   const [loading, setLoading] = useState(false)
   const [searchQuery, setSearchQuery] = useState('')
+  const [searchInput, setSearchInput] = useState('')
+  const [searchEngine, setSearchEngine] = useState(undefined)
+  const [suggestions, setSuggestions] = useState([])
+  const [correctedSearch, setCorrectedSearch] = useState(null)
+  const latestInput = useRef('')
   const [selectedMovie, setSelectedMovie] = useState(null)
   const [isEditModalOpen, setIsEditModalOpen] = useState(false)
   const [allMovies, setAllMovies] = useState([])
   const [downloadingCSV, setDownloadingCSV] = useState(false)
   const [availableGenres, setAvailableGenres] = useState([])
+  const [genreCounts, setGenreCounts] = useState({})
   const [selectedGenres, setSelectedGenres] = useState([])
   const [pagination, setPagination] = useState({
     totalElements: 0,
@@ -31,6 +40,8 @@ export default function Movies() {
     page: 0,
     size: 12,
   })
+  // Cursor that starts each page, as returned in nextCursor for the same query
+  const [pageCursors, setPageCursors] = useState({ query: '', cursors: {} })
 
   const isAdmin = user?.role === 'ADMIN'
 
@@ -51,7 +62,43 @@ export default function Movies() {
   // Refresh movies when filters change
   useEffect(() => {
     fetchMovies()
-  }, [filters, searchQuery, selectedGenres])
+  }, [filters, searchQuery, searchEngine, selectedGenres])
+
+  // Typeahead is answered from the server's in-memory index; only a committed search loads movies
+  const handleSearchInput = async (value) => {
+    setSearchInput(value)
+    latestInput.current = value
+    if (!value.trim()) {
+      setSuggestions([])
+      return
+    }
+    try {
+      const response = await movieAPI.suggest(value)
+      if (latestInput.current === value) {
+        setSuggestions(response.data.data)
+      }
+    } catch (error) {
+      setSuggestions([])
+    }
+  }
+
+  const commitSearch = (value, engine) => {
+    setSearchInput(value)
+    latestInput.current = value
+    setSuggestions([])
+    setSearchEngine(engine)
+    setSearchQuery(value)
+  }
+
+  const handleSuggestionClick = (suggestion) => {
+    if (suggestion.type === 'title') {
+      setSuggestions([])
+      navigate(`/movie/${suggestion.imdbId}`)
+    } else {
+      // Directors and actors are only searchable through the full-text engine
+      commitSearch(suggestion.text, 'index')
+    }
+  }
 
   const fetchMovies = async () => {
     setLoading(true)
@@ -59,25 +106,34 @@ export default function Movies() {
       const params = {
         ...filters,
         ...(searchQuery && { search: searchQuery }),
+        ...(searchQuery && searchEngine && { engine: searchEngine }),
         ...(selectedGenres.length > 0 && { genres: selectedGenres }),
       }
-      const response = await movieAPI.searchMovies(params)
+      const queryKey = JSON.stringify({ ...params, page: undefined })
+      const cursor = pageCursors.query === queryKey ? pageCursors.cursors[filters.page] : undefined
+      const response = await movieAPI.searchMovies({ ...params, fields: LIST_FIELDS, facets: true, ...(cursor && { cursor }) })
       const data = response.data.data
       setMovies(data.movies)
+      setCorrectedSearch(data.correctedSearch || null)
       setPagination({
         totalElements: data.totalElements,
         totalPages: data.totalPages,
         currentPage: data.currentPage,
       })
+
+      // Remember where the next page starts, so paging forward stays stable while new movies arrive
+      setPageCursors(prev => ({
+        query: queryKey,
+        cursors: {
+          ...(prev.query === queryKey ? prev.cursors : {}),
+          ...(data.nextCursor && { [data.currentPage + 1]: data.nextCursor }),
+        },
+      }))
       
-      // Extract unique genres from all movies for the filter dropdown
-      const allGenres = new Set()
-      data.movies.forEach(movie => {
-        if (movie.genre && Array.isArray(movie.genre)) {
-          movie.genre.forEach(g => allGenres.add(g))
-        }
-      })
-      setAvailableGenres([...allGenres].sort())
+      // Genres across all results (not just this page) with their counts; keep selected ones visible
+      const genreFacets = data.facets?.genres || {}
+      setGenreCounts(genreFacets)
+      setAvailableGenres([...new Set([...Object.keys(genreFacets), ...selectedGenres])].sort())
     } catch (error) {
       toast.error('Failed to fetch movies')
     } finally {
@@ -90,10 +146,15 @@ export default function Movies() {
     window.scrollTo({ top: 0, behavior: 'smooth' })
   }
 
-  const handleEdit = (movie, e) => {
+  const handleEdit = async (movie, e) => {
     e.stopPropagation()
-    setSelectedMovie(movie)
-    setIsEditModalOpen(true)
+    try {
+      const response = await movieAPI.getMovieById(movie.imdbId)
+      setSelectedMovie(response.data.data)
+      setIsEditModalOpen(true)
+    } catch (error) {
+      toast.error('Failed to load movie')
+    }
   }
 
   const handleUpdate = () => {
@@ -256,14 +317,16 @@ export default function Movies() {
             <Search className="absolute left-4 top-1/2 transform -translate-y-1/2 text-gray-400 w-5 h-5" />
             <input
               type="text"
-              value={searchQuery}
-              onChange={(e) => setSearchQuery(e.target.value)}
+              value={searchInput}
+              onChange={(e) => handleSearchInput(e.target.value)}
+              onKeyDown={(e) => e.key === 'Enter' && commitSearch(searchInput.trim())}
+              onBlur={() => setTimeout(() => setSuggestions([]), 150)}
               placeholder="Search for movies by title (e.g., Matrix, Batman, Avengers) or leave empty to see all cached movies"
               className="w-full pl-12 pr-4 py-4 border border-gray-300 dark:border-gray-600 rounded-xl focus:ring-2 focus:ring-red-500 dark:bg-gray-800 dark:text-white text-lg"
             />
-            {searchQuery && (
+            {searchInput && (
               <button
-                onClick={() => setSearchQuery('')}
+                onClick={() => commitSearch('')}
                 className="absolute right-4 top-1/2 transform -translate-y-1/2 text-gray-400 hover:text-gray-600 dark:hover:text-gray-300"
                 title="Clear search"
               >
@@ -272,13 +335,37 @@ export default function Movies() {
                 </svg>
               </button>
             )}
+            {suggestions.length > 0 && (
+              <ul className="absolute z-20 left-0 right-0 mt-1 bg-white dark:bg-gray-800 border border-gray-200 dark:border-gray-700 rounded-xl shadow-lg overflow-hidden">
+                {suggestions.map((suggestion) => (
+                  <li key={`${suggestion.type}:${suggestion.imdbId || suggestion.text}`}>
+                    <button
+                      onMouseDown={(e) => e.preventDefault()}
+                      onClick={() => handleSuggestionClick(suggestion)}
+                      className="w-full text-left px-4 py-2 flex justify-between hover:bg-gray-100 dark:hover:bg-gray-700 text-gray-900 dark:text-white"
+                    >
+                      <span>
+                        {suggestion.text}
+                        {suggestion.year && <span className="ml-2 text-gray-500">({suggestion.year})</span>}
+                      </span>
+                      <span className="text-xs uppercase text-gray-400">{suggestion.type}</span>
+                    </button>
+                  </li>
+                ))}
+              </ul>
+            )}
           </div>
+          {correctedSearch && (
+            <p className="mt-2 text-sm text-gray-600 dark:text-gray-400">
+              Showing results for <span className="font-semibold">{correctedSearch}</span>
+            </p>
+          )}
           <div className="mt-2 flex flex-wrap items-center gap-2 text-sm text-gray-600 dark:text-gray-400">
             <span>💡 Quick searches:</span>
             {['Matrix', 'Batman', 'Avengers', 'Star Wars', 'Lord of the Rings'].map((term) => (
               <button
                 key={term}
-                onClick={() => setSearchQuery(term)}
+                onClick={() => commitSearch(term)}
                 className="px-3 py-1 bg-gray-100 dark:bg-gray-700 hover:bg-gray-200 dark:hover:bg-gray-600 rounded-full text-xs font-medium transition-colors"
               >
                 {term}
@@ -370,6 +457,7 @@ export default function Movies() {
                     }`}
                   >
                     {genre}
+                    <span className="ml-1.5 opacity-70">{genreCounts[genre] ?? 0}</span>
                     {selectedGenres.includes(genre) && (
                       <span className="ml-1.5">✓</span>
                     )}
@@ -45,6 +45,7 @@ export const authAPI = {
 // Movie APIs
 export const movieAPI = {
   searchMovies: (params) => api.get('/api/movies', { params }),
+  suggest: (q, limit = 8) => api.get('/api/movies/suggest', { params: { q, limit } }),
   getMovieById: (id) => api.get(`/api/movies/${id}`),
   getStats: () => api.get('/api/stats'),
 }